@@ -0,0 +1,66 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import com.nob.app.core.exception.StackTracePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a {@link ResourceNotFoundException} a few frames deep, with and without its
+ * status configured as stackless in the {@link StackTracePolicy}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationExceptionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stackless;
+
+
+    @Setup
+    public void setup() {
+        StackTracePolicy.configure(
+                stackless ? List.of(ApplicationStatus.RESOURCE_NOT_FOUND) : List.of(),
+                List.of(),
+                StackTracePolicy.Logging.SERVER_ERRORS);
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        StackTracePolicy.configure(List.of(), List.of(), StackTracePolicy.Logging.SERVER_ERRORS);
+    }
+
+
+    @Benchmark
+    public ResourceNotFoundException create() {
+        return depth(8);
+    }
+
+
+    private static ResourceNotFoundException depth(int frames) {
+        if (frames == 0) return new ResourceNotFoundException("Not found", "No item with ID 42");
+        return depth(frames - 1);
+    }
+}
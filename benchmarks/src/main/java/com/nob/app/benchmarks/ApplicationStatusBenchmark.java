@@ -0,0 +1,76 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.ApplicationStatusRegistry;
+import com.nob.app.core.exception.StatusDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving an {@link ApplicationStatus} from its wire {@code code} and {@code status} by
+ * scanning {@code values()} against the {@link ApplicationStatusRegistry}, for a status early and late
+ * in the enum.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationStatusBenchmark {
+
+    @Param({"INVALID_REQUEST", "BUSINESS_RULE_VIOLATION"})
+    public String code;
+
+    private String status;
+
+
+    @Setup
+    public void setup() {
+        status = ApplicationStatus.valueOf(code).getStatus();
+    }
+
+
+    @Benchmark
+    public ApplicationStatus scanByCode() {
+        for (ApplicationStatus candidate : ApplicationStatus.values()) {
+            if (candidate.getCode().equals(code)) return candidate;
+        }
+        return null;
+    }
+
+
+    @Benchmark
+    public StatusDefinition registryByCode() {
+        return ApplicationStatusRegistry.byCode(code);
+    }
+
+
+    @Benchmark
+    public ApplicationStatus scanByStatus() {
+        for (ApplicationStatus candidate : ApplicationStatus.values()) {
+            if (candidate.getStatus().equals(status)) return candidate;
+        }
+        return null;
+    }
+
+
+    @Benchmark
+    public StatusDefinition registryByStatus() {
+        return ApplicationStatusRegistry.byStatus(status);
+    }
+}
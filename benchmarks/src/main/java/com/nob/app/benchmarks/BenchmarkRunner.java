@@ -0,0 +1,37 @@
+package com.nob.app.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the shaded {@code benchmarks.jar}.
+ *
+ * <p>Accepts the regular JMH command line and always attaches the GC profiler, so every run reports
+ * allocation per operation ({@code gc.alloc.rate.norm}) next to the score. For example:</p>
+ * <blockquote><pre>
+ * java -jar benchmarks/target/benchmarks.jar ServiceHeaderBenchmark -f 1
+ * </pre></blockquote>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks selected on the command line with the GC profiler enabled.
+     *
+     * @param args the JMH command line arguments
+     * @throws Exception if the options are invalid or the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.accesslog.AccessLogPipeline;
+import com.nob.app.core.accesslog.BodyCaptureFilter;
+import com.nob.app.core.accesslog.BodyCaptureProperties;
+import com.nob.app.core.config.HttpMonitoringInterceptor;
+import com.nob.app.core.exception.GlobalExceptionHandler;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import com.nob.app.core.model.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * End-to-end throughput of a request through the Spring MVC stack with the core components
+ * installed: the body capture filter, the monitoring interceptor and body advices, the
+ * {@link Response} envelope and the {@link GlobalExceptionHandler}.
+ *
+ * <p>Runs against {@link MockMvc}, so the servlet container and network are excluded. Application
+ * logging is disabled by the benchmark {@code logback.xml} and access log records are discarded.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndThroughputBenchmark {
+
+    private static final String ITEM_JSON = "{\"name\":\"item\",\"amount\":10}";
+
+    private AccessLogPipeline pipeline;
+
+    private MockMvc mockMvc;
+
+
+    @Setup
+    public void setup() {
+        pipeline = Fixtures.discardingPipeline();
+        HttpMonitoringInterceptor interceptor = Fixtures.interceptor(pipeline);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController())
+                .addFilters(new BodyCaptureFilter(new BodyCaptureProperties()))
+                .addInterceptors(interceptor)
+                .setControllerAdvice(interceptor, new GlobalExceptionHandler())
+                .build();
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        pipeline.stop();
+    }
+
+
+    @Benchmark
+    public MockHttpServletResponse getItem() throws Exception {
+        return mockMvc.perform(get("/api/items/42").accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+
+    @Benchmark
+    public MockHttpServletResponse createItem() throws Exception {
+        return mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON).content(ITEM_JSON).accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+
+    @Benchmark
+    public MockHttpServletResponse notFound() throws Exception {
+        return mockMvc.perform(get("/api/items/0").accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+
+    /**
+     * Sample controller returning {@link Response} envelopes.
+     */
+    @RestController
+    @RequestMapping("/api/items")
+    public static class ItemController {
+
+        @GetMapping("/{id}")
+        public ResponseEntity<Response<Map<String, Object>>> get(@PathVariable("id") long id) {
+            if (id == 0) throw new ResourceNotFoundException("Item not found", "No item with ID " + id);
+            return Response.success(Map.of("id", id, "name", "item", "amount", 10));
+        }
+
+
+        @PostMapping
+        public ResponseEntity<Response<Map<String, Object>>> create(@RequestBody Map<String, Object> item) {
+            return Response.success(item);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.nob.app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.exception.ErrorResponseProperties;
+import com.nob.app.core.exception.ErrorResponseWriter;
+import com.nob.app.core.exception.GlobalExceptionHandler;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Measures answering a request whose handler throws a {@link ResourceNotFoundException}, with the
+ * {@link GlobalExceptionHandler} returning a {@code ResponseEntity} and with it writing the envelope or
+ * problem details directly through the {@link ErrorResponseWriter}.
+ *
+ * <p>Runs against {@link MockMvc}; application logging is disabled by the benchmark {@code logback.xml}.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    @Param({"ENTITY", "ENVELOPE", "PROBLEM"})
+    public String mode;
+
+    private MockMvc mockMvc;
+
+    private MediaType accept;
+
+
+    @Setup
+    public void setup() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        if (!"ENTITY".equals(mode)) {
+            ErrorResponseProperties properties = new ErrorResponseProperties();
+            properties.setEnabled(true);
+            handler.setErrorResponseWriter(new ErrorResponseWriter(properties, new ObjectMapper()));
+        }
+        accept = "PROBLEM".equals(mode) ? MediaType.APPLICATION_PROBLEM_JSON : MediaType.APPLICATION_JSON;
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController())
+                .setControllerAdvice(handler)
+                .build();
+    }
+
+
+    @Benchmark
+    public MockHttpServletResponse notFound() throws Exception {
+        return mockMvc.perform(get("/api/items/0").accept(accept))
+                .andReturn()
+                .getResponse();
+    }
+
+
+    /**
+     * Sample controller failing every lookup.
+     */
+    @RestController
+    public static class ItemController {
+
+        @GetMapping("/api/items/0")
+        public String get() {
+            throw new ResourceNotFoundException("Item not found", "No item with ID 0");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.feign.FeignInterceptor;
+import com.nob.app.core.model.ServiceHeader;
+import feign.Request;
+import feign.RequestTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FeignInterceptor#apply} on a fresh outgoing request template, as Feign does for
+ * every call made while handling an authenticated, traced request.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeignInterceptorBenchmark {
+
+    private FeignInterceptor interceptor;
+
+
+    @Setup
+    public void setup() {
+        interceptor = Fixtures.feignInterceptor();
+        Fixtures.authenticate();
+        MockHttpServletRequest request = Fixtures.request(true);
+        ServiceHeaderHolder.set(request, ServiceHeader.of(request));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+
+    @Benchmark
+    public RequestTemplate apply() {
+        RequestTemplate template = new RequestTemplate();
+        template.method(Request.HttpMethod.GET);
+        template.uri("/api/items/42");
+        interceptor.apply(template);
+        return template;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.accesslog.AccessLogPipeline;
+import com.nob.app.core.config.HttpMonitoringInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link HttpMonitoringInterceptor} hooks of one exchange, in the order Spring MVC
+ * invokes them: {@code preHandle}, {@code afterBodyRead}, {@code beforeBodyWrite} and
+ * {@code afterCompletion}.
+ *
+ * <p>The access log pipeline runs with its background writer, but records are discarded instead of
+ * being serialized to the log.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpMonitoringInterceptorBenchmark {
+
+    private final Map<String, Object> requestBody = Map.of("name", "item", "amount", 10);
+
+    private final Map<String, Object> responseBody = Map.of("id", 42, "name", "item", "amount", 10);
+
+    private final Object handler = new Object();
+
+    private AccessLogPipeline pipeline;
+
+    private HttpMonitoringInterceptor interceptor;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private ServletServerHttpRequest serverRequest;
+
+    private ServletServerHttpResponse serverResponse;
+
+    private MethodParameter bodyParameter;
+
+    private MethodParameter returnType;
+
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        pipeline = Fixtures.discardingPipeline();
+        interceptor = Fixtures.interceptor(pipeline);
+        request = Fixtures.request(true);
+        response = new MockHttpServletResponse();
+        serverRequest = new ServletServerHttpRequest(request);
+        serverResponse = new ServletServerHttpResponse(response);
+        bodyParameter = new MethodParameter(HttpMonitoringInterceptorBenchmark.class.getDeclaredMethod("handle", Map.class), 0);
+        returnType = new MethodParameter(HttpMonitoringInterceptorBenchmark.class.getDeclaredMethod("handle", Map.class), -1);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        pipeline.stop();
+    }
+
+
+    @Benchmark
+    public Object exchange() {
+        request.clearAttributes();
+        response.reset();
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterBodyRead(requestBody, serverRequest, bodyParameter, Map.class, MappingJackson2HttpMessageConverter.class);
+        Object body = interceptor.beforeBodyWrite(responseBody, returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class, serverRequest, serverResponse);
+        interceptor.afterCompletion(request, response, handler, null);
+        return body;
+    }
+
+
+    @SuppressWarnings("unused")
+    private Map<String, Object> handle(Map<String, Object> body) {
+        return body;
+    }
+}
@@ -0,0 +1,59 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.id.IdGenerator;
+import com.nob.app.core.id.IdGeneratorProperties;
+import com.nob.app.core.id.IdGeneratorRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the built-in {@link IdGenerator}s. Runs on several threads to expose contention on
+ * shared random sources.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"ULID", "W3C", "UUID"})
+    public IdGeneratorProperties.Type type;
+
+    private IdGenerator generator;
+
+
+    @Setup
+    public void setup() {
+        generator = IdGeneratorRegistrar.create(type);
+    }
+
+
+    @Benchmark
+    public String requestId() {
+        return generator.nextRequestId();
+    }
+
+
+    @Benchmark
+    public String traceId() {
+        return generator.nextTraceId();
+    }
+}
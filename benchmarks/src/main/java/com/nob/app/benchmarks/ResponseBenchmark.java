@@ -0,0 +1,92 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import com.nob.app.core.model.Response;
+import com.nob.app.core.model.ServiceHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Response} factory methods and builder inside a bound request; run with
+ * {@code -prof gc} to compare their allocations.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private final List<String> data = List.of("a", "b", "c");
+
+    private final ResourceNotFoundException exception = new ResourceNotFoundException("Not found", "No item with ID 42");
+
+
+    @Setup
+    public void setup() {
+        MockHttpServletRequest request = Fixtures.request(true);
+        ServiceHeaderHolder.set(request, ServiceHeader.of(request));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+
+    @Benchmark
+    public ResponseEntity<Response<List<String>>> success() {
+        return Response.success(data);
+    }
+
+
+    @Benchmark
+    public ResponseEntity<Response<List<String>>> of() {
+        return Response.of(ApplicationStatus.SUCCESS, data, "Listed", "Items listed");
+    }
+
+
+    @Benchmark
+    public ResponseEntity<Object> wrap() {
+        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Invalid request payload");
+    }
+
+
+    @Benchmark
+    public ResponseEntity<Object> wrapException() {
+        return Response.wrap(exception);
+    }
+
+
+    @Benchmark
+    public ResponseEntity<Response<Object>> builder() {
+        return Response.status(ApplicationStatus.SERVICE_UNAVAILABLE)
+                .retryAfter(Duration.ofSeconds(30))
+                .body(null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nob.app.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.model.Response;
+import com.nob.app.core.model.ResponseEnvelopeWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serializing a {@link Response} envelope with Jackson against the precomputed
+ * {@link ResponseEnvelopeWriter} used by the envelope message converter.
+ *
+ * <p>Both paths write into the same reusable buffer, so the scores reflect serialization cost only.
+ * Run with {@code -prof gc} to compare allocation per operation.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEnvelopeBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+
+    private ResponseEnvelopeWriter envelopeWriter;
+
+    private Response<List<Item>> response;
+
+    private ByteArrayOutputStream out;
+
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        envelopeWriter = new ResponseEnvelopeWriter(objectMapper);
+        List<Item> data = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) data.add(new Item(i, "item-" + i, i * 10L));
+        response = Response.success(data).getBody();
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+
+    @Benchmark
+    public int jackson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, response);
+        return out.size();
+    }
+
+
+    @Benchmark
+    public int envelopeWriter() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = envelopeWriter.createGenerator(out)) {
+            envelopeWriter.write(response, generator);
+        }
+        return out.size();
+    }
+
+
+    @Benchmark
+    public int jacksonError() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, Response.of(ApplicationStatus.RESOURCE_NOT_FOUND, null).getBody());
+        return out.size();
+    }
+
+
+    @Benchmark
+    public int envelopeWriterError() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = envelopeWriter.createGenerator(out)) {
+            envelopeWriter.write(Response.of(ApplicationStatus.RESOURCE_NOT_FOUND, null).getBody(), generator);
+        }
+        return out.size();
+    }
+
+
+    /**
+     * Sample payload element.
+     */
+    public static class Item {
+
+        public final int id;
+
+        public final String name;
+
+        public final long amount;
+
+        public Item(int id, String name, long amount) {
+            this.id = id;
+            this.name = name;
+            this.amount = amount;
+        }
+    }
+}
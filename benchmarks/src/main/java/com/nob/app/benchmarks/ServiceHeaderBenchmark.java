@@ -0,0 +1,54 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.model.ServiceHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ServiceHeader#of} with and without inbound request/trace ID headers.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceHeaderBenchmark {
+
+    private MockHttpServletRequest requestWithIds;
+
+    private MockHttpServletRequest requestWithoutIds;
+
+
+    @Setup
+    public void setup() {
+        requestWithIds = Fixtures.request(true);
+        requestWithoutIds = Fixtures.request(false);
+    }
+
+
+    @Benchmark
+    public ServiceHeader propagatedIds() {
+        return ServiceHeader.of(requestWithIds);
+    }
+
+
+    @Benchmark
+    public ServiceHeader generatedIds() {
+        return ServiceHeader.of(requestWithoutIds);
+    }
+}
@@ -0,0 +1,70 @@
+package com.nob.app.benchmarks;
+
+import com.nob.app.core.model.AuthenticatedUser;
+import com.nob.app.core.model.TokenPayload;
+import com.nob.app.core.service.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link TokenService} accessors against an authenticated security context.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    @Setup
+    public void setup() {
+        Fixtures.authenticate();
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Benchmark
+    public Jwt getJwtToken() {
+        return TokenService.getJwtToken();
+    }
+
+
+    @Benchmark
+    public TokenPayload getTokenPayload() {
+        return TokenService.getTokenPayload();
+    }
+
+
+    @Benchmark
+    public AuthenticatedUser getLoggedInUser() {
+        return TokenService.getLoggedInUser();
+    }
+
+
+    @Benchmark
+    public String getClaimAsString() {
+        return TokenService.getClaimAsString(TokenService.PREFERRED_USERNAME);
+    }
+}
@@ -0,0 +1,196 @@
+package com.nob.app.core.accesslog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, batched access-log pipeline.
+ *
+ * <p>Request threads {@link #publish} completed {@link AccessLogRecord}s into a bounded lock-free
+ * {@link AccessLogRingBuffer}; a single daemon writer thread drains it in batches of up to
+ * {@code batch-size} records and hands them to the configured {@link AccessLogWriter}. When the buffer
+ * is full the configured {@link AccessLogProperties.OverflowPolicy} decides whether the record is
+ * dropped, replaces the oldest one, waits for space or is written inline. Published, written and
+ * dropped records are counted and exposed through the getters.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class AccessLogPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogPipeline.class);
+
+    private final AccessLogProperties properties;
+
+    private final AccessLogWriter writer;
+
+    private final AccessLogRingBuffer<AccessLogRecord> buffer;
+
+    private final Object writeLock = new Object();
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread writerThread;
+
+
+    /**
+     * Creates the pipeline, using the {@link AccessLogWriter} bean if one is declared.
+     *
+     * @param properties the access-log properties
+     * @param writer     the optional custom writer
+     */
+    public AccessLogPipeline(AccessLogProperties properties, ObjectProvider<AccessLogWriter> writer) {
+        this.properties = properties;
+        this.writer = writer.getIfAvailable(Slf4jAccessLogWriter::new);
+        this.buffer = new AccessLogRingBuffer<>(properties.getCapacity());
+    }
+
+
+    /**
+     * Starts the background writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Stops the writer thread and flushes any buffered records.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread == null) return;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+
+    /**
+     * Publishes a completed record.
+     *
+     * <p>Never blocks the caller longer than {@code block-timeout} and never throws.</p>
+     *
+     * @param record the completed record
+     */
+    public void publish(AccessLogRecord record) {
+        published.increment();
+        if (!properties.isAsync() || !running) {
+            writeBatch(Collections.singletonList(record));
+            return;
+        }
+        if (buffer.offer(record)) return;
+        switch (properties.getOverflowPolicy()) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(record)) {
+                    if (buffer.poll() != null) dropped.increment();
+                }
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+                while (!buffer.offer(record)) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        dropped.increment();
+                        return;
+                    }
+                    Thread.onSpinWait();
+                }
+            }
+            case CALLER_RUNS -> writeBatch(Collections.singletonList(record));
+            default -> dropped.increment();
+        }
+    }
+
+
+    /**
+     * Writes every record currently buffered on the calling thread.
+     */
+    public void flush() {
+        List<AccessLogRecord> batch = new ArrayList<>(properties.getBatchSize());
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+
+    /** @return the number of records published since startup */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /** @return the number of records handed to the writer since startup */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /** @return the number of records dropped because the buffer was full */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** @return the number of records the writer failed to write */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /** @return the approximate number of records waiting in the buffer */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+
+    private void drainLoop() {
+        List<AccessLogRecord> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            if (buffer.drainTo(batch, properties.getBatchSize()) == 0) {
+                LockSupport.parkNanos(properties.getIdleWait().toNanos());
+                continue;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+
+    private void writeBatch(List<AccessLogRecord> batch) {
+        synchronized (writeLock) {
+            try {
+                writer.write(batch);
+                written.add(batch.size());
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                log.warn("Failed to write {} access log records: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+}
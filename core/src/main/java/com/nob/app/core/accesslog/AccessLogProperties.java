@@ -0,0 +1,58 @@
+package com.nob.app.core.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the {@link AccessLogPipeline}, bound from {@code nob.core.access-log}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.access-log")
+public class AccessLogProperties {
+
+    /** Whether records are written asynchronously; when disabled they are written on the request thread. */
+    private boolean async = true;
+
+    /** The capacity of the ring buffer, rounded up to a power of two. */
+    private int capacity = 8192;
+
+    /** The maximum number of records handed to the writer at once. */
+    private int batchSize = 256;
+
+    /** How long the writer thread waits before polling an empty buffer again. */
+    private Duration idleWait = Duration.ofMillis(5);
+
+    /** What to do with a record when the buffer is full. */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /** How long a producer waits for free space under {@link OverflowPolicy#BLOCK} before dropping. */
+    private Duration blockTimeout = Duration.ofMillis(10);
+
+
+    /**
+     * Policies applied when a record is published to a full buffer.
+     */
+    public enum OverflowPolicy {
+
+        /** Drop the record being published. */
+        DROP_NEWEST,
+
+        /** Drop the oldest buffered record to make room for the new one. */
+        DROP_OLDEST,
+
+        /** Wait up to {@code block-timeout} for free space, then drop the record. */
+        BLOCK,
+
+        /** Write the record synchronously on the publishing thread. */
+        CALLER_RUNS
+    }
+}
@@ -0,0 +1,143 @@
+package com.nob.app.core.accesslog;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nob.app.core.model.ServiceHeader;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Structured access-log entry describing one HTTP exchange.
+ *
+ * <p>A record is created when the request enters the interceptor, filled in as the request and
+ * response bodies pass through, and handed to the {@link AccessLogPipeline} once the exchange
+ * completes. It is never shared between requests.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Data
+public class AccessLogRecord {
+
+    /**
+     * The request attribute name under which the in-flight record is stored.
+     */
+    public static final String ATTRIBUTE = AccessLogRecord.class.getName();
+
+    /** The placeholder written instead of sensitive header values. */
+    private static final String MASKED = "<<Not intent to log>>";
+
+    /** The unique identifier for the request. */
+    private String requestId;
+
+    /** The unique trace identifier for tracking requests across services. */
+    private String traceId;
+
+    /** The span ID of this service's handling of the request. */
+    private String spanId;
+
+    /** The span ID of the caller, if it sent a {@code traceparent} header. */
+    private String parentSpanId;
+
+    /** The HTTP method of the request. */
+    private String httpMethod;
+
+    /** The request URI, including the query string if any. */
+    private String uri;
+
+    /** The best matching request mapping pattern, if resolved. */
+    private String route;
+
+    /** The IP address of the client. */
+    private String remoteAddr;
+
+    /** The request headers, with sensitive values masked. */
+    private Map<String, String> headers;
+
+    /** The serialized request body, if captured. */
+    private String requestBody;
+
+    /** The serialized response body, if captured. */
+    private String responseBody;
+
+    /** The HTTP status code returned to the client. */
+    private int status;
+
+    /** The epoch milliseconds at which the request was received. */
+    private long startTime;
+
+    /** The time spent processing the request, in milliseconds. */
+    private long duration;
+
+    /** The exception that terminated the request, if any. */
+    private String error;
+
+    /** The monotonic start time used to compute {@link #duration}. */
+    @JsonIgnore
+    private long startNanos;
+
+    /** The deserialized request body, kept until the sampling decision is made. */
+    @JsonIgnore
+    private transient Object requestPayload;
+
+    /** The response body object, kept until the sampling decision is made. */
+    @JsonIgnore
+    private transient Object responsePayload;
+
+
+    /**
+     * Creates a record for the given request and its resolved service header.
+     *
+     * @param request the HTTP servlet request
+     * @param header  the service header resolved for the request
+     * @return a new record holding the request line and headers
+     */
+    public static AccessLogRecord of(HttpServletRequest request, ServiceHeader header) {
+        AccessLogRecord record = new AccessLogRecord();
+        record.setStartNanos(System.nanoTime());
+        record.setStartTime(Objects.nonNull(header.getTimestamp()) ? header.getTimestamp() : System.currentTimeMillis());
+        record.setRequestId(header.getRequestId());
+        record.setTraceId(header.getTraceId());
+        record.setSpanId(header.getSpanId());
+        record.setParentSpanId(header.getParentSpanId());
+        record.setHttpMethod(request.getMethod());
+        record.setUri(Objects.nonNull(request.getQueryString()) ?
+                request.getRequestURI() + "?" + request.getQueryString() :
+                request.getRequestURI());
+        record.setRemoteAddr(request.getRemoteAddr());
+        record.setHeaders(headersOf(request));
+        return record;
+    }
+
+
+    /**
+     * Marks the exchange as complete, recording its status, duration and failure if any.
+     *
+     * @param status the HTTP status returned to the client
+     * @param ex     the exception that terminated the request, or {@code null}
+     */
+    public void complete(int status, Exception ex) {
+        this.status = status;
+        this.duration = (System.nanoTime() - startNanos) / 1_000_000L;
+        if (Objects.nonNull(ex)) this.error = ex.getClass().getName() + ": " + ex.getMessage();
+    }
+
+
+    private static Map<String, String> headersOf(HttpServletRequest request) {
+        Enumeration<String> names = request.getHeaderNames();
+        if (Objects.isNull(names)) return Collections.emptyMap();
+        Map<String, String> headers = new LinkedHashMap<>();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            boolean sensitive = HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) || HttpHeaders.COOKIE.equalsIgnoreCase(name);
+            headers.put(name, sensitive ? MASKED : request.getHeader(name));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,138 @@
+package com.nob.app.core.accesslog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer multi-consumer ring buffer.
+ *
+ * <p>Each slot carries a sequence number that tells producers and consumers whether the slot is
+ * free or published, so neither side ever takes a lock: a full buffer makes {@link #offer} return
+ * {@code false} and an empty one makes {@link #poll} return {@code null}. The capacity is rounded
+ * up to the next power of two.</p>
+ *
+ * @param <E> the type of elements held in the buffer
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class AccessLogRingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+
+    /**
+     * Creates a ring buffer holding at least {@code capacity} elements.
+     *
+     * @param capacity the minimum capacity, must be positive
+     */
+    public AccessLogRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+
+    /**
+     * Inserts an element if a slot is free.
+     *
+     * @param element the element to insert
+     * @return {@code true} if inserted, {@code false} if the buffer is full
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+
+    /**
+     * Removes the oldest published element.
+     *
+     * @return the removed element, or {@code null} if the buffer is empty
+     */
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.getAndSet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+
+    /**
+     * Moves up to {@code max} elements into the given list.
+     *
+     * @param target the list receiving the elements
+     * @param max    the maximum number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(List<? super E> target, int max) {
+        int count = 0;
+        E element;
+        while (count < max && (element = poll()) != null) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+
+    /**
+     * Returns an estimate of the number of elements in the buffer.
+     *
+     * @return the approximate size
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1L));
+    }
+
+
+    /**
+     * Returns the actual capacity of the buffer.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
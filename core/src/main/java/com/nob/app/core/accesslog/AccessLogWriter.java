@@ -0,0 +1,24 @@
+package com.nob.app.core.accesslog;
+
+import java.util.List;
+
+/**
+ * Sink for batches of completed {@link AccessLogRecord}s.
+ *
+ * <p>Implementations are invoked from the pipeline's background writer thread (or from the caller
+ * thread when the pipeline runs synchronously) and never concurrently. Declaring a bean of this type
+ * replaces the default {@link Slf4jAccessLogWriter}.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface AccessLogWriter {
+
+    /**
+     * Writes a batch of records.
+     *
+     * @param records the records to write, never empty
+     */
+    void write(List<AccessLogRecord> records);
+}
@@ -0,0 +1,114 @@
+package com.nob.app.core.accesslog;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Size-capped copy of the bytes flowing through a request or response body stream.
+ *
+ * <p>Bytes beyond the cap are counted but not stored, so capturing never grows past
+ * {@code maxBytes} regardless of the body size. Instances are confined to the request thread.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class BodyCapture {
+
+    private final int maxBytes;
+
+    private byte[] buffer = new byte[0];
+
+    private int size;
+
+    private long total;
+
+    private boolean enabled = true;
+
+
+    /**
+     * Creates a capture keeping at most {@code maxBytes} bytes.
+     *
+     * @param maxBytes the capture cap
+     */
+    public BodyCapture(int maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+
+    /**
+     * Copies a single byte if the cap has not been reached.
+     *
+     * @param b the byte to copy
+     */
+    public void write(int b) {
+        total++;
+        if (!enabled || size >= maxBytes) return;
+        ensureCapacity(size + 1);
+        buffer[size++] = (byte) b;
+    }
+
+
+    /**
+     * Copies as much of the given range as fits under the cap.
+     *
+     * @param bytes  the source bytes
+     * @param offset the start offset
+     * @param length the number of bytes
+     */
+    public void write(byte[] bytes, int offset, int length) {
+        if (length <= 0) return;
+        total += length;
+        if (!enabled || size >= maxBytes) return;
+        int count = Math.min(length, maxBytes - size);
+        ensureCapacity(size + count);
+        System.arraycopy(bytes, offset, buffer, size, count);
+        size += count;
+    }
+
+
+    /**
+     * Stops capturing; subsequent writes are only counted.
+     */
+    public void disable() {
+        this.enabled = false;
+        this.buffer = new byte[0];
+        this.size = 0;
+    }
+
+
+    /** @return whether the capture is still recording bytes */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** @return whether more bytes went through than were kept */
+    public boolean isTruncated() {
+        return total > size;
+    }
+
+    /** @return whether no bytes have been captured */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Decodes the captured bytes, appending the marker if the body was truncated.
+     *
+     * @param charset the body charset
+     * @param marker  the truncation marker
+     * @return the captured body, or {@code null} if capturing was disabled or nothing was captured
+     */
+    public String toString(Charset charset, String marker) {
+        if (!enabled || size == 0) return null;
+        String body = new String(buffer, 0, size, charset);
+        return isTruncated() ? body + marker : body;
+    }
+
+
+    private void ensureCapacity(int required) {
+        if (required <= buffer.length) return;
+        int capacity = Math.min(maxBytes, Math.max(required, Math.max(256, buffer.length << 1)));
+        buffer = Arrays.copyOf(buffer, capacity);
+    }
+}
@@ -0,0 +1,198 @@
+package com.nob.app.core.accesslog;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Servlet filter capturing raw request and response bodies for the access log.
+ *
+ * <p>Active only in {@link BodyCaptureProperties.Mode#STREAM} mode. The request and response are
+ * wrapped so that the bytes the message converters read and write are teed into size-capped
+ * {@link BodyCapture}s, which {@link #getRequestBody} and {@link #getResponseBody} decode once the
+ * exchange completes. Bodies are never serialized a second time and never buffered in full.
+ * Capture can be enabled or disabled per path and per content type. The filter never commits the
+ * response itself, so a failing or asynchronous request keeps its status and headers open. Characters
+ * written through the response writer are handed to the capture before it is read, and to the client
+ * once the exchange completes, also when it completes asynchronously.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    private static final String REQUEST_CAPTURE = BodyCaptureFilter.class.getName() + ".REQUEST";
+
+    private static final String RESPONSE_CAPTURE = BodyCaptureFilter.class.getName() + ".RESPONSE";
+
+    private static final String RESPONSE_WRAPPER = BodyCaptureFilter.class.getName() + ".RESPONSE_WRAPPER";
+
+    private final BodyCaptureProperties properties;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+
+    /**
+     * Creates the filter.
+     *
+     * @param properties the body capture properties
+     */
+    public BodyCaptureFilter(BodyCaptureProperties properties) {
+        this.properties = properties;
+    }
+
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (properties.getMode() != BodyCaptureProperties.Mode.STREAM) return true;
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return !matches(path, properties.getIncludePaths(), true) || matches(path, properties.getExcludePaths(), false);
+    }
+
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest requestToUse = request;
+        if (isCapturable(request.getContentType())) {
+            BodyCapture requestCapture = new BodyCapture(properties.getMaxBytes());
+            request.setAttribute(REQUEST_CAPTURE, requestCapture);
+            requestToUse = new CapturingRequestWrapper(request, requestCapture);
+        }
+        BodyCapture responseCapture = new BodyCapture(properties.getMaxBytes());
+        request.setAttribute(RESPONSE_CAPTURE, responseCapture);
+        CapturingResponseWrapper responseToUse = new CapturingResponseWrapper(response, responseCapture, this::isCapturable);
+        request.setAttribute(RESPONSE_WRAPPER, responseToUse);
+        filterChain.doFilter(requestToUse, responseToUse);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new WriterFlushingListener(responseToUse));
+        } else {
+            responseToUse.flushWriter();
+        }
+    }
+
+
+    /**
+     * Returns the captured request body.
+     *
+     * @param request the HTTP servlet request
+     * @return the decoded, possibly truncated body, or {@code null} if nothing was captured
+     */
+    public String getRequestBody(HttpServletRequest request) {
+        return decode(request.getAttribute(REQUEST_CAPTURE), request.getContentType());
+    }
+
+
+    /**
+     * Returns the captured response body.
+     *
+     * @param request  the HTTP servlet request
+     * @param response the HTTP servlet response
+     * @return the decoded, possibly truncated body, or {@code null} if nothing was captured
+     */
+    public String getResponseBody(HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(RESPONSE_WRAPPER) instanceof CapturingResponseWrapper wrapper) wrapper.flushWriter();
+        return decode(request.getAttribute(RESPONSE_CAPTURE), response.getContentType());
+    }
+
+
+    /**
+     * Tells whether bodies are captured by this filter rather than serialized by the interceptor.
+     *
+     * @return {@code true} in {@link BodyCaptureProperties.Mode#STREAM} mode
+     */
+    public boolean isStreaming() {
+        return properties.getMode() == BodyCaptureProperties.Mode.STREAM;
+    }
+
+
+    private String decode(Object capture, String contentType) {
+        if (!(capture instanceof BodyCapture bodyCapture) || bodyCapture.isEmpty()) return null;
+        return bodyCapture.toString(charsetOf(contentType), properties.getTruncationMarker());
+    }
+
+
+    private boolean isCapturable(String contentType) {
+        if (Objects.isNull(contentType)) return true;
+        MediaType mediaType = parse(contentType);
+        if (Objects.isNull(mediaType)) return false;
+        boolean included = properties.getIncludeContentTypes().isEmpty() ||
+                properties.getIncludeContentTypes().stream().anyMatch(type -> includes(type, mediaType));
+        return included && properties.getExcludeContentTypes().stream().noneMatch(type -> includes(type, mediaType));
+    }
+
+
+    private boolean matches(String path, List<String> patterns, boolean matchIfEmpty) {
+        if (patterns.isEmpty()) return matchIfEmpty;
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+
+
+    private static boolean includes(String type, MediaType mediaType) {
+        MediaType configured = parse(type);
+        return Objects.nonNull(configured) && configured.includes(mediaType);
+    }
+
+
+    private static Charset charsetOf(String contentType) {
+        MediaType mediaType = Objects.nonNull(contentType) ? parse(contentType) : null;
+        Charset charset = Objects.nonNull(mediaType) ? mediaType.getCharset() : null;
+        return Objects.nonNull(charset) ? charset : StandardCharsets.UTF_8;
+    }
+
+
+    private static MediaType parse(String type) {
+        try {
+            return MediaType.parseMediaType(type);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+
+    private record WriterFlushingListener(CapturingResponseWrapper response) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            response.flushWriter();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
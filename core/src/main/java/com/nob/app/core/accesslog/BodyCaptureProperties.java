@@ -0,0 +1,65 @@
+package com.nob.app.core.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for request and response body capture, bound from
+ * {@code nob.core.access-log.body-capture}.
+ *
+ * <p>Path patterns are Ant-style and matched against the request path without the context path;
+ * content types are matched with {@link org.springframework.http.MediaType#includes}. An empty
+ * include list means everything is included; excludes always win.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.access-log.body-capture")
+public class BodyCaptureProperties {
+
+    /** How bodies are captured. */
+    private Mode mode = Mode.OBJECT;
+
+    /** The maximum number of bytes captured per body in {@link Mode#STREAM} mode. */
+    private int maxBytes = 4096;
+
+    /** The marker appended to a body that was cut at {@code max-bytes}. */
+    private String truncationMarker = "...[truncated]";
+
+    /** Path patterns whose bodies are captured. */
+    private List<String> includePaths = new ArrayList<>();
+
+    /** Path patterns whose bodies are never captured. */
+    private List<String> excludePaths = new ArrayList<>();
+
+    /** Content types whose bodies are captured. */
+    private List<String> includeContentTypes = new ArrayList<>();
+
+    /** Content types whose bodies are never captured. */
+    private List<String> excludeContentTypes = new ArrayList<>(List.of(
+            "application/octet-stream", "application/pdf", "multipart/*", "image/*", "audio/*", "video/*"));
+
+
+    /**
+     * Body capture modes.
+     */
+    public enum Mode {
+
+        /** Serialize the deserialized request and returned response objects with Jackson. */
+        OBJECT,
+
+        /** Tee the raw bytes read and written by the message converters, up to {@code max-bytes}. */
+        STREAM,
+
+        /** Do not capture bodies. */
+        NONE
+    }
+}
@@ -0,0 +1,142 @@
+package com.nob.app.core.accesslog;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the bodies of an exchange are logged.
+ *
+ * <p>Rules are applied in order: failed exchanges are always kept when {@code errors-always} is set;
+ * otherwise the trace is kept if its hash falls under the route or default rate, and a token bucket
+ * finally caps the number of kept exchanges per second. The hash is computed from the trace ID only,
+ * with a fixed algorithm, so every service in a call chain configured with the same rate reaches the
+ * same decision for the same trace.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class BodyLogSampler {
+
+    private final BodyLogSamplingProperties properties;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private volatile TokenBucket bucket;
+
+
+    /**
+     * Creates the sampler.
+     *
+     * @param properties the sampling properties
+     */
+    public BodyLogSampler(BodyLogSamplingProperties properties) {
+        this.properties = properties;
+    }
+
+
+    /**
+     * Decides whether the bodies of a completed exchange are logged.
+     *
+     * @param traceId the trace ID of the exchange
+     * @param route   the best matching request mapping pattern, or {@code null}
+     * @param status  the HTTP status returned to the client
+     * @param failed  whether the exchange ended with an exception
+     * @return {@code true} if the bodies should be logged
+     */
+    public boolean shouldLogBodies(String traceId, String route, int status, boolean failed) {
+        if (!properties.isEnabled()) return true;
+        if (properties.isErrorsAlways() && (failed || status >= 400)) return true;
+        if (!isSampled(traceId, rateOf(route))) return false;
+        return properties.getMaxPerSecond() <= 0 || tokenBucket().tryAcquire();
+    }
+
+
+    /**
+     * Tells whether the given trace falls under the given rate.
+     *
+     * @param traceId the trace ID
+     * @param rate    the sampling rate between 0 and 1
+     * @return {@code true} if the trace is sampled
+     */
+    public static boolean isSampled(String traceId, double rate) {
+        if (rate >= 1.0) return true;
+        if (rate <= 0.0 || Objects.isNull(traceId)) return false;
+        return (mix(traceId.hashCode()) >>> 11) * 0x1.0p-53 < rate;
+    }
+
+
+    private double rateOf(String route) {
+        Map<String, Double> routes = properties.getRoutes();
+        if (Objects.isNull(route) || routes.isEmpty()) return properties.getRate();
+        Double exact = routes.get(route);
+        if (Objects.nonNull(exact)) return exact;
+        for (Map.Entry<String, Double> entry : routes.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), route)) return entry.getValue();
+        }
+        return properties.getRate();
+    }
+
+
+    private TokenBucket tokenBucket() {
+        TokenBucket current = bucket;
+        int rate = properties.getMaxPerSecond();
+        int burst = Math.max(1, properties.getBurst());
+        if (Objects.isNull(current) || current.rate != rate || current.burst != burst) {
+            current = new TokenBucket(rate, burst);
+            bucket = current;
+        }
+        return current;
+    }
+
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+
+    /**
+     * Lock-free token bucket implemented as a generic cell rate algorithm: a single CAS on the
+     * theoretical arrival time admits or rejects each request.
+     */
+    private static final class TokenBucket {
+
+        private final int rate;
+
+        private final int burst;
+
+        private final long interval;
+
+        private final long tolerance;
+
+        private final AtomicLong arrival = new AtomicLong(System.nanoTime());
+
+        TokenBucket(int rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+            this.interval = TimeUnit.SECONDS.toNanos(1) / rate;
+            this.tolerance = interval * burst;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                long now = System.nanoTime();
+                long current = arrival.get();
+                long next = Math.max(current, now) + interval;
+                if (next - now > tolerance) return false;
+                if (arrival.compareAndSet(current, next)) return true;
+            }
+        }
+    }
+}
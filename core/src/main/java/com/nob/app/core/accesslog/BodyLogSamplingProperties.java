@@ -0,0 +1,43 @@
+package com.nob.app.core.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sampling rules for request and response body logging, bound from {@code nob.core.access-log.sampling}.
+ *
+ * <p>The properties are re-bound when the environment is refreshed, and {@link BodyLogSampler} reads
+ * them on every decision, so rule changes apply without a restart.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.access-log.sampling")
+public class BodyLogSamplingProperties {
+
+    /** Whether sampling is applied; when disabled every body is logged. */
+    private boolean enabled = false;
+
+    /** The fraction of traces, between 0 and 1, whose bodies are logged. */
+    private double rate = 1.0;
+
+    /** Per-route rates keyed by Ant-style request mapping pattern, overriding {@link #rate}. */
+    private Map<String, Double> routes = new LinkedHashMap<>();
+
+    /** Whether bodies of failed exchanges (status 4xx/5xx or an exception) are always logged. */
+    private boolean errorsAlways = true;
+
+    /** The maximum number of sampled successful exchanges logged per second; 0 means unlimited. */
+    private int maxPerSecond = 0;
+
+    /** The number of exchanges that may exceed {@link #maxPerSecond} in a burst. */
+    private int burst = 10;
+}
@@ -0,0 +1,99 @@
+package com.nob.app.core.accesslog;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Request wrapper that tees the bytes read from the body into a {@link BodyCapture}.
+ *
+ * <p>Nothing is buffered ahead of the reader: only the bytes actually consumed by the message
+ * converter are copied, up to the capture cap.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+class CapturingRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BodyCapture capture;
+
+    private ServletInputStream inputStream;
+
+    private BufferedReader reader;
+
+
+    CapturingRequestWrapper(HttpServletRequest request, BodyCapture capture) {
+        super(request);
+        this.capture = capture;
+    }
+
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (Objects.isNull(inputStream)) inputStream = new TeeInputStream(super.getInputStream(), capture);
+        return inputStream;
+    }
+
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (Objects.isNull(reader)) reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        return reader;
+    }
+
+
+    Charset charset() {
+        String encoding = getCharacterEncoding();
+        return Objects.nonNull(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+
+    private static class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private final BodyCapture capture;
+
+        TeeInputStream(ServletInputStream delegate, BodyCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) capture.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) capture.write(b, off, count);
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.nob.app.core.accesslog;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Response wrapper that tees the bytes written to the body into a {@link BodyCapture}.
+ *
+ * <p>Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper} the body is written
+ * through to the client immediately; only the first bytes, up to the capture cap, are copied. The
+ * content type is checked on the first write, once the message converter has set it, and capture is
+ * disabled if it is excluded.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BodyCapture capture;
+
+    private final Predicate<String> contentTypeFilter;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    private boolean checked;
+
+    private boolean suppressFlush;
+
+
+    CapturingResponseWrapper(HttpServletResponse response, BodyCapture capture, Predicate<String> contentTypeFilter) {
+        super(response);
+        this.capture = capture;
+        this.contentTypeFilter = contentTypeFilter;
+    }
+
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (Objects.isNull(outputStream)) outputStream = new TeeOutputStream(super.getOutputStream());
+        return outputStream;
+    }
+
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (Objects.isNull(writer)) writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset()));
+        return writer;
+    }
+
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (Objects.nonNull(writer)) writer.flush();
+        super.flushBuffer();
+    }
+
+
+    /**
+     * Hands the characters buffered in the writer to the underlying response without flushing it, so
+     * the response is not committed and the container can still set the status or render an error.
+     * Called before the captured body is read and once the exchange completes, including asynchronously.
+     */
+    void flushWriter() {
+        if (Objects.isNull(writer)) return;
+        suppressFlush = true;
+        try {
+            writer.flush();
+        } finally {
+            suppressFlush = false;
+        }
+    }
+
+
+    Charset charset() {
+        String encoding = getCharacterEncoding();
+        return Objects.nonNull(encoding) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+
+    private void checkContentType() {
+        if (checked) return;
+        checked = true;
+        if (!contentTypeFilter.test(getContentType())) capture.disable();
+    }
+
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkContentType();
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkContentType();
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!suppressFlush) delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nob.app.core.accesslog;
+
+import com.nob.app.core.config.HttpMonitoringInterceptor;
+import com.nob.app.core.constant.CustomHeaders;
+import com.nob.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+
+/**
+ * Default {@link AccessLogWriter} that emits each record as a single JSON log line.
+ *
+ * <p>The request and trace IDs of the record are put in the {@link MDC} while it is logged, so log
+ * patterns relying on them keep working even though the line is written off the request thread.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class Slf4jAccessLogWriter implements AccessLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpMonitoringInterceptor.class);
+
+    private static final String LOG_TYPE = "logType";
+
+
+    @Override
+    public void write(List<AccessLogRecord> records) {
+        if (!log.isInfoEnabled()) return;
+        for (AccessLogRecord record : records) {
+            try (MDC.MDCCloseable ignored = MDC.putCloseable(CustomHeaders.REQUEST_ID, record.getRequestId());
+                 MDC.MDCCloseable ignored1 = MDC.putCloseable(CustomHeaders.TRACE_ID, record.getTraceId());
+                 MDC.MDCCloseable ignored2 = MDC.putCloseable(LOG_TYPE, HttpMonitoringInterceptor.LogType.ACCESS.name())) {
+                log.info("Access log: {}", JsonUtils.toJson(record));
+            }
+        }
+    }
+}
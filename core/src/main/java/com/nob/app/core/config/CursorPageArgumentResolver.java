@@ -0,0 +1,154 @@
+package com.nob.app.core.config;
+
+import com.nob.app.core.exception.InvalidRequestException;
+import com.nob.app.core.model.Cursor;
+import com.nob.app.core.model.CursorCodec;
+import com.nob.app.core.model.CursorPageRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resolves {@link CursorPageRequest} controller method arguments from the {@code cursor} and
+ * {@code limit} request parameters.
+ *
+ * <p>The cursor is decoded and verified with a {@link CursorCodec} signing with the configured secret,
+ * scoped to the handler method, so that the cursors of one listing are not accepted by another one; a
+ * malformed, altered, foreign or expired cursor, or a limit below one, is rejected with an
+ * {@link InvalidRequestException}. A missing limit falls back to the default and a larger one than the
+ * maximum is capped, so a client cannot ask for an unbounded page. The resolver registers itself with
+ * Spring MVC as a {@link WebMvcConfigurer}, and fails startup if a handler method takes a
+ * {@link CursorPageRequest} while no secret is configured and an ephemeral one is not allowed.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see PaginationProperties
+ */
+@Component
+public class CursorPageArgumentResolver implements HandlerMethodArgumentResolver, WebMvcConfigurer, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CursorPageArgumentResolver.class);
+
+    private final PaginationProperties properties;
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    private final CursorCodec codec;
+
+
+    /**
+     * Creates the resolver.
+     *
+     * @param properties      the pagination settings
+     * @param handlerMappings the handler mappings, checked for pagination endpoints when no secret is set
+     */
+    public CursorPageArgumentResolver(PaginationProperties properties, ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        if (properties.getDefaultLimit() < 1 || properties.getMaxLimit() < properties.getDefaultLimit()) {
+            throw new IllegalArgumentException("Pagination limits must satisfy 1 <= default-limit <= max-limit");
+        }
+        this.properties = properties;
+        this.handlerMappings = handlerMappings;
+        this.codec = new CursorCodec(secret(properties), properties.getCursorTtl(), Clock.systemUTC());
+    }
+
+
+    /**
+     * Fails startup if a handler method takes a {@link CursorPageRequest} while cursors would be signed
+     * with a random secret that was not explicitly allowed.
+     *
+     * @throws IllegalStateException if no secret is set, ephemeral secrets are not allowed and a
+     *                               pagination endpoint is mapped
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (StringUtils.hasText(properties.getSecret())) return;
+        boolean paginated = handlerMappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .flatMap(handlerMethod -> Arrays.stream(handlerMethod.getMethodParameters()))
+                .anyMatch(this::supportsParameter);
+        if (!paginated) return;
+        if (!properties.isAllowEphemeralSecret()) {
+            throw new IllegalStateException("nob.core.pagination.secret must be set to serve cursor paginated endpoints, "
+                    + "or nob.core.pagination.allow-ephemeral-secret enabled to sign cursors with a random secret per instance");
+        }
+        log.warn("No pagination secret configured; cursors are signed with a random secret and are only valid on this instance until it restarts");
+    }
+
+
+    /**
+     * Returns the codec of the cursors, for encoding cursors outside a {@link CursorPageRequest}.
+     *
+     * @return the cursor codec
+     */
+    public CursorCodec getCodec() {
+        return codec;
+    }
+
+
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(this);
+    }
+
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return CursorPageRequest.class == parameter.getParameterType();
+    }
+
+
+    @Override
+    public CursorPageRequest resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String token = webRequest.getParameter(properties.getCursorParameter());
+        String scope = scope(parameter);
+        Cursor cursor = StringUtils.hasText(token) ? codec.decode(token, scope) : null;
+        return new CursorPageRequest(cursor, limit(webRequest.getParameter(properties.getLimitParameter())), codec, scope);
+    }
+
+
+    private static String scope(MethodParameter parameter) {
+        return parameter.getDeclaringClass().getName() + "#" + parameter.getExecutable().getName();
+    }
+
+
+    private int limit(String value) {
+        if (!StringUtils.hasText(value)) return properties.getDefaultLimit();
+        int limit;
+        try {
+            limit = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            limit = 0;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("Invalid limit", "The '" + properties.getLimitParameter() + "' parameter must be a positive integer");
+        }
+        return Math.min(limit, properties.getMaxLimit());
+    }
+
+
+    private static byte[] secret(PaginationProperties properties) {
+        if (StringUtils.hasText(properties.getSecret())) return properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
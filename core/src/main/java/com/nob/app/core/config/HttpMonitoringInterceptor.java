@@ -1,13 +1,21 @@
 package com.nob.app.core.config;
 
+import com.nob.app.core.accesslog.AccessLogPipeline;
+import com.nob.app.core.accesslog.AccessLogRecord;
+import com.nob.app.core.accesslog.BodyCaptureFilter;
+import com.nob.app.core.accesslog.BodyCaptureProperties;
+import com.nob.app.core.accesslog.BodyLogSampler;
 import com.nob.app.core.constant.CustomHeaders;
+import com.nob.app.core.context.DeadlineProperties;
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.exception.DeadlineExceededException;
+import com.nob.app.core.metrics.HttpServerMetrics;
 import com.nob.app.core.model.ServiceHeader;
+import com.nob.app.core.model.StreamingResponse;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import com.nob.utils.JsonUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpInputMessage;
@@ -18,7 +26,10 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
@@ -29,9 +40,28 @@ import java.util.Objects;
 /**
  * Intercepts HTTP requests and responses for logging and monitoring purposes.
  * <p>
- * This interceptor logs request details, extracts and stores service headers,
- * and ensures traceability by propagating request and trace IDs.
- * Additionally, it logs request and response bodies (except for binary data).
+ * This interceptor extracts and stores service headers and ensures traceability
+ * by propagating request and trace IDs. The header is bound to the handling thread
+ * through {@link ServiceHeaderHolder#bind} for the duration of the request and
+ * unbound when the request completes or is handed over to an async dispatch,
+ * so no request or trace ID is left in the MDC of a pooled or virtual thread. The request line, headers, request and
+ * response bodies (except for binary data), status and timing of each exchange are
+ * collected into one {@link AccessLogRecord}, which is published to the
+ * {@link AccessLogPipeline} when the request completes instead of being logged
+ * synchronously on the request thread. Depending on {@link BodyCaptureProperties},
+ * bodies are either serialized from the request and response objects or taken from
+ * the raw bytes teed by the {@link BodyCaptureFilter}. Bodies are only decoded or
+ * serialized once the exchange has completed and the {@link BodyLogSampler} has
+ * decided to keep them. Latency, response status and in-flight requests are recorded
+ * per route in the {@link HttpServerMetrics}.
+ * </p>
+ * <p>
+ * Requests whose caller deadline, sent as a remaining time budget in the
+ * {@link CustomHeaders#REQUEST_TIMEOUT} header and counted from the time of receipt recorded by the
+ * {@link com.nob.app.core.context.RequestReceiptFilter}, has already passed are rejected with a
+ * {@link DeadlineExceededException} before the handler runs, so an overloaded call chain sheds
+ * work nobody is waiting for anymore. The rejection is recorded in the access log and is not logged
+ * as an error. See {@link DeadlineProperties}.
  * </p>
  *
  * @author Truong Ngo
@@ -39,43 +69,82 @@ import java.util.Objects;
  */
 @Component
 @RestControllerAdvice
-public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implements AsyncHandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String METRICS_SAMPLE = HttpServerMetrics.Sample.class.getName();
+
+    private static final String HEADER_SCOPE = ServiceHeaderHolder.Scope.class.getName();
 
-    private static final Logger log = LoggerFactory.getLogger(HttpMonitoringInterceptor.class);
+    private final AccessLogPipeline accessLogPipeline;
 
-    private static final String SERVICE_HEADER = "serviceHeader";
+    private final BodyCaptureProperties bodyCaptureProperties;
 
-    private static final String LOG_TYPE = "logType";
+    private final BodyCaptureFilter bodyCaptureFilter;
+
+    private final BodyLogSampler bodyLogSampler;
+
+    private final HttpServerMetrics httpServerMetrics;
+
+    private final DeadlineProperties deadlineProperties;
+
+
+    /**
+     * Creates the interceptor publishing access-log records to the given pipeline.
+     *
+     * @param accessLogPipeline     the access-log pipeline
+     * @param bodyCaptureProperties the body capture properties
+     * @param bodyCaptureFilter     the filter capturing raw bodies in streaming mode
+     * @param bodyLogSampler        the sampler deciding which bodies are logged
+     * @param httpServerMetrics     the per-route HTTP server metrics
+     * @param deadlineProperties    the request deadline properties
+     */
+    public HttpMonitoringInterceptor(AccessLogPipeline accessLogPipeline, BodyCaptureProperties bodyCaptureProperties, BodyCaptureFilter bodyCaptureFilter, BodyLogSampler bodyLogSampler, HttpServerMetrics httpServerMetrics, DeadlineProperties deadlineProperties) {
+        this.accessLogPipeline = accessLogPipeline;
+        this.bodyCaptureProperties = bodyCaptureProperties;
+        this.bodyCaptureFilter = bodyCaptureFilter;
+        this.bodyLogSampler = bodyLogSampler;
+        this.httpServerMetrics = httpServerMetrics;
+        this.deadlineProperties = deadlineProperties;
+    }
 
 
     /**
      * Handles pre-processing of incoming HTTP requests.
-     * Extracts service headers and logs request details.
+     * Extracts service headers and binds them to the current thread, starts the access-log record of the exchange and
+     * starts measuring the request. On the async dispatch of a request the service header, access-log record and
+     * measurement of the initial dispatch are kept, and the header is only bound again to the current thread.
      *
      * @param request  the incoming HTTP request
      * @param response the HTTP response
      * @param handler  the handler processing the request
      * @return {@code true} to proceed with request processing
+     * @throws DeadlineExceededException if the caller's deadline has already passed
      */
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        ServiceHeader stored = ServiceHeaderHolder.get(request);
+        if (request.getDispatcherType() == DispatcherType.ASYNC && Objects.nonNull(stored)
+                && request.getAttribute(AccessLogRecord.ATTRIBUTE) instanceof AccessLogRecord) {
+            request.setAttribute(HEADER_SCOPE, ServiceHeaderHolder.bind(stored));
+            return true;
+        }
         ServiceHeader header = ServiceHeader.of(request);
-        request.setAttribute(SERVICE_HEADER, header);
-        MDC.put(SERVICE_HEADER, header.toString());
-        MDC.put(CustomHeaders.REQUEST_ID, header.getRequestId());
-        MDC.put(CustomHeaders.TRACE_ID, header.getTraceId());
-        MDC.put(LOG_TYPE, LogType.REQUEST.name());
-        log.info(
-                "Receive request with uri: {}",
-                Objects.nonNull(request.getQueryString()) ?
-                        request.getRequestURI() + "?" + request.getQueryString() :
-                        request.getRequestURI());
+        applyDeadline(header);
+        ServiceHeaderHolder.set(request, header);
+        if (isExpired(request, header)) rejectExpired(request, response, header);
+        request.setAttribute(HEADER_SCOPE, ServiceHeaderHolder.bind(header));
+        request.setAttribute(AccessLogRecord.ATTRIBUTE, AccessLogRecord.of(request, header));
+        if (!(request.getAttribute(METRICS_SAMPLE) instanceof HttpServerMetrics.Sample)) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            HttpServerMetrics.Sample sample = httpServerMetrics.start(Objects.nonNull(route) ? route.toString() : null, request.getMethod());
+            if (Objects.nonNull(sample)) request.setAttribute(METRICS_SAMPLE, sample);
+        }
         return true;
     }
 
 
     /**
-     * Logs the request body after it has been read.
+     * Keeps the request body after it has been read, to be logged if the exchange is sampled.
      *
      * @param body            the deserialized request body
      * @param inputMessage    the input message
@@ -87,15 +156,18 @@ public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implemen
     @NonNull
     @Override
     public Object afterBodyRead(@NonNull Object body, @NonNull HttpInputMessage inputMessage, @NonNull MethodParameter parameter, @NonNull Type targetType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
-        String json = JsonUtils.toJson(body);
-        log.info("Request body: {}", json);
+        AccessLogRecord record = isObjectCapture() ? currentRecord() : null;
+        if (Objects.nonNull(record)) record.setRequestPayload(body);
         return super.afterBodyRead(body, inputMessage, parameter, targetType, converterType);
     }
 
 
     /**
      * Handles post-processing after request completion.
-     * Adds request and trace IDs to the response headers.
+     * Adds request and trace IDs to the response headers, read back from the
+     * {@link ServiceHeader} bound to the request in {@link #preHandle}, then completes
+     * the access-log record and publishes it, records the request metrics and unbinds the
+     * service header from the current thread.
      *
      * @param request  the HTTP request
      * @param response the HTTP response
@@ -104,10 +176,82 @@ public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implemen
      */
     @Override
     public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
-        ServiceHeader header = JsonUtils.fromJson(MDC.get(SERVICE_HEADER), ServiceHeader.class);
+        ServiceHeader header = ServiceHeaderHolder.get(request);
+        if (Objects.nonNull(header)) {
+            response.addHeader(CustomHeaders.REQUEST_ID, header.getRequestId());
+            response.addHeader(CustomHeaders.TRACE_ID, header.getTraceId());
+        }
+        if (request.getAttribute(AccessLogRecord.ATTRIBUTE) instanceof AccessLogRecord record) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            record.setRoute(Objects.nonNull(route) ? route.toString() : null);
+            if (bodyLogSampler.shouldLogBodies(record.getTraceId(), record.getRoute(), response.getStatus(), Objects.nonNull(ex))) {
+                captureBodies(request, response, record);
+            }
+            record.setRequestPayload(null);
+            record.setResponsePayload(null);
+            record.complete(response.getStatus(), ex);
+            accessLogPipeline.publish(record);
+        }
+        if (request.getAttribute(METRICS_SAMPLE) instanceof HttpServerMetrics.Sample sample) {
+            request.removeAttribute(METRICS_SAMPLE);
+            int status = response.getStatus();
+            sample.stop(Objects.nonNull(ex) && status < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status);
+        }
+        unbind(request);
+    }
+
+
+    /**
+     * Unbinds the service header from the current thread when the request continues asynchronously;
+     * it is bound again on the thread of the async dispatch.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the handler processing the request
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        unbind(request);
+    }
+
+
+    private void applyDeadline(ServiceHeader header) {
+        if (!deadlineProperties.isEnabled()) {
+            header.setDeadline(null);
+            return;
+        }
+        long receivedAt = header.getTimestamp();
+        if (Objects.isNull(header.getDeadline()) && Objects.nonNull(deadlineProperties.getDefaultTimeout())) {
+            header.setDeadline(receivedAt + deadlineProperties.getDefaultTimeout().toMillis());
+        }
+        if (Objects.nonNull(header.getDeadline()) && Objects.nonNull(deadlineProperties.getMaxTimeout())) {
+            header.setDeadline(Math.min(header.getDeadline(), receivedAt + deadlineProperties.getMaxTimeout().toMillis()));
+        }
+    }
+
+
+    private static boolean isExpired(HttpServletRequest request, ServiceHeader header) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return false;
+        Long remaining = header.remainingMillis();
+        return Objects.nonNull(remaining) && remaining <= 0;
+    }
+
+
+    private void rejectExpired(HttpServletRequest request, HttpServletResponse response, ServiceHeader header) {
+        DeadlineExceededException exception = new DeadlineExceededException(
+                "Deadline exceeded",
+                "The caller's deadline passed before the request could be handled");
+        int status = HttpServletResponse.SC_GATEWAY_TIMEOUT;
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
         response.addHeader(CustomHeaders.REQUEST_ID, header.getRequestId());
         response.addHeader(CustomHeaders.TRACE_ID, header.getTraceId());
-        log.info("Return response with status: {}", response.getStatus());
+        AccessLogRecord record = AccessLogRecord.of(request, header);
+        record.setRoute(Objects.nonNull(route) ? route.toString() : null);
+        record.complete(status, exception);
+        accessLogPipeline.publish(record);
+        HttpServerMetrics.Sample sample = httpServerMetrics.start(Objects.nonNull(route) ? route.toString() : null, request.getMethod());
+        if (Objects.nonNull(sample)) sample.stop(status);
+        throw exception;
     }
 
 
@@ -123,7 +267,9 @@ public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implemen
 
 
     /**
-     * Logs response bodies before they are sent to the client.
+     * Keeps response bodies before they are sent to the client, to be logged if the exchange is sampled.
+     * Binary and {@link StreamingResponse} bodies are not kept, since serializing them for the log would
+     * read them a second time or hold them in memory.
      *
      * @param body                the response body
      * @param returnType          the return type
@@ -136,24 +282,60 @@ public class HttpMonitoringInterceptor extends RequestBodyAdviceAdapter implemen
     @Override
     public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType selectedContentType, @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType, @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
         if (Objects.nonNull(body)) {
-            if (body instanceof InputStreamResource || body instanceof ByteArrayInputStream || body instanceof byte[]) {
+            if (body instanceof InputStreamResource || body instanceof ByteArrayInputStream || body instanceof byte[]
+                    || body instanceof StreamingResponse<?>) {
                 return body;
             }
-            String json = JsonUtils.toJson(JsonUtils.sanitizeByteArray(body));
-            MDC.remove(LOG_TYPE);
-            MDC.put(LOG_TYPE, LogType.RESPONSE.name());
-            log.info("Response body: {}", json);
+            AccessLogRecord record = isObjectCapture() ? currentRecord() : null;
+            if (Objects.nonNull(record)) record.setResponsePayload(body);
             return body;
         }
         return null;
     }
 
 
+    private void captureBodies(HttpServletRequest request, HttpServletResponse response, AccessLogRecord record) {
+        if (bodyCaptureFilter.isStreaming()) {
+            record.setRequestBody(bodyCaptureFilter.getRequestBody(request));
+            record.setResponseBody(bodyCaptureFilter.getResponseBody(request, response));
+        } else if (isObjectCapture()) {
+            if (Objects.nonNull(record.getRequestPayload())) {
+                record.setRequestBody(JsonUtils.toJson(record.getRequestPayload()));
+            }
+            if (Objects.nonNull(record.getResponsePayload())) {
+                record.setResponseBody(JsonUtils.toJson(JsonUtils.sanitizeByteArray(record.getResponsePayload())));
+            }
+        }
+    }
+
+
+    private static void unbind(HttpServletRequest request) {
+        if (request.getAttribute(HEADER_SCOPE) instanceof ServiceHeaderHolder.Scope scope) {
+            request.removeAttribute(HEADER_SCOPE);
+            scope.close();
+        }
+    }
+
+
+    private boolean isObjectCapture() {
+        return bodyCaptureProperties.getMode() == BodyCaptureProperties.Mode.OBJECT;
+    }
+
+
+    private static AccessLogRecord currentRecord() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes)) return null;
+        Object record = attributes.getAttribute(AccessLogRecord.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return record instanceof AccessLogRecord accessLogRecord ? accessLogRecord : null;
+    }
+
+
     /**
-     * Enum representing log types (REQUEST and RESPONSE).
+     * Enum representing log types (REQUEST, RESPONSE and ACCESS).
      */
     public enum LogType {
         REQUEST,
-        RESPONSE
+        RESPONSE,
+        ACCESS
     }
 }
@@ -0,0 +1,48 @@
+package com.nob.app.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keyset pagination settings, bound from {@code nob.core.pagination}.
+ *
+ * <p>All instances of a service must share the {@code secret}, so that a cursor issued by one instance
+ * is accepted by the others and across restarts. Without a secret, startup fails as soon as a handler
+ * method takes a {@code CursorPageRequest}, unless {@code allow-ephemeral-secret} accepts cursors that
+ * only hold on the issuing instance until it restarts.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see CursorPageArgumentResolver
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.pagination")
+public class PaginationProperties {
+
+    /** The secret signing cursors, at least 32 bytes. */
+    private String secret;
+
+    /** Whether a random secret per instance is used when no {@code secret} is set, instead of failing startup. */
+    private boolean allowEphemeralSecret;
+
+    /** How long cursors stay valid; unset means they never expire. */
+    private Duration cursorTtl;
+
+    /** The page size of requests that carry no limit. */
+    private int defaultLimit = 20;
+
+    /** The largest page size accepted; larger limits are capped. */
+    private int maxLimit = 100;
+
+    /** The name of the request parameter holding the cursor. */
+    private String cursorParameter = "cursor";
+
+    /** The name of the request parameter holding the page size. */
+    private String limitParameter = "limit";
+}
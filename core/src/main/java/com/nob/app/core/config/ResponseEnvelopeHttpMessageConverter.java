@@ -0,0 +1,87 @@
+package com.nob.app.core.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.model.Response;
+import com.nob.app.core.model.ResponseEnvelopeWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} writing {@link Response} envelopes
+ * through a {@link ResponseEnvelopeWriter}.
+ *
+ * <p>Registered ahead of the Jackson converter when {@code nob.core.response-writer.enabled} is set.
+ * The envelope metadata is copied from precomputed fragments and only {@code data} is serialized by
+ * Jackson; the wire format is unchanged. If the application {@link ObjectMapper} is configured in a way
+ * the writer does not reproduce, or a non UTF-8 charset is requested, the converter steps aside and the
+ * Jackson converter handles the response as before. Reading is not supported.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.response-writer", name = "enabled", havingValue = "true")
+public class ResponseEnvelopeHttpMessageConverter extends AbstractHttpMessageConverter<Response<?>> {
+
+    private final ResponseEnvelopeWriter envelopeWriter;
+
+
+    /**
+     * Creates the converter for the application object mapper.
+     *
+     * @param objectMapper the application object mapper
+     */
+    public ResponseEnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.envelopeWriter = new ResponseEnvelopeWriter(objectMapper);
+    }
+
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return Response.class.isAssignableFrom(clazz);
+    }
+
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        if (!envelopeWriter.isCompatible()) return false;
+        if (Objects.nonNull(mediaType) && Objects.nonNull(mediaType.getCharset()) && !StandardCharsets.UTF_8.equals(mediaType.getCharset())) {
+            return false;
+        }
+        return super.canWrite(clazz, mediaType);
+    }
+
+
+    @NonNull
+    @Override
+    protected Response<?> readInternal(@NonNull Class<? extends Response<?>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading Response envelopes is not supported", inputMessage);
+    }
+
+
+    @Override
+    protected void writeInternal(@NonNull Response<?> response, @NonNull HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        try (JsonGenerator generator = envelopeWriter.createGenerator(outputMessage.getBody())) {
+            envelopeWriter.write(response, generator);
+        }
+    }
+}
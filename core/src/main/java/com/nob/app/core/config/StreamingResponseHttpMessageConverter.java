@@ -0,0 +1,120 @@
+package com.nob.app.core.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.model.ResponseEnvelopeWriter;
+import com.nob.app.core.model.StreamingResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link org.springframework.http.converter.HttpMessageConverter} writing {@link StreamingResponse}s
+ * element by element.
+ *
+ * <p>The envelope metadata is written through a {@link ResponseEnvelopeWriter} and every element is
+ * serialized with the application {@link ObjectMapper} as the source produces it, with no content
+ * length and without holding the body in memory. The response is {@code application/json} or, in the
+ * NDJSON format, {@code application/x-ndjson}; a status set on the streaming response replaces the
+ * HTTP status. Reading is not supported.</p>
+ *
+ * <p>The format chosen by the controller is kept as long as the client's {@code Accept} header allows
+ * it. A client only accepting the other format, as negotiated by Spring MVC, receives that format
+ * instead, so the body always matches the content type the client asked for.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class StreamingResponseHttpMessageConverter extends AbstractHttpMessageConverter<StreamingResponse<?>> {
+
+    private final ResponseEnvelopeWriter envelopeWriter;
+
+
+    /**
+     * Creates the converter for the application object mapper.
+     *
+     * @param objectMapper the application object mapper
+     */
+    public StreamingResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), MediaType.APPLICATION_NDJSON);
+        this.envelopeWriter = new ResponseEnvelopeWriter(objectMapper);
+    }
+
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return StreamingResponse.class.isAssignableFrom(clazz);
+    }
+
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+
+    @NonNull
+    @Override
+    protected StreamingResponse<?> readInternal(@NonNull Class<? extends StreamingResponse<?>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading streaming responses is not supported", inputMessage);
+    }
+
+
+    @Override
+    protected void addDefaultHeaders(@NonNull HttpHeaders headers, @NonNull StreamingResponse<?> response, MediaType contentType) throws IOException {
+        response.format(negotiate(response, contentType));
+        headers.setContentType(response.getMediaType());
+        super.addDefaultHeaders(headers, response, contentType);
+    }
+
+
+    /**
+     * Keeps the format of the response if the client accepts it, and otherwise switches to the format of
+     * the negotiated content type.
+     */
+    private static StreamingResponse.Format negotiate(StreamingResponse<?> response, MediaType contentType) {
+        if (Objects.isNull(contentType) || contentType.isWildcardType() || contentType.isWildcardSubtype()) return response.getFormat();
+        if (contentType.isCompatibleWith(response.getMediaType()) || accepts(response.getMediaType())) return response.getFormat();
+        return MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? StreamingResponse.Format.NDJSON : StreamingResponse.Format.ENVELOPE;
+    }
+
+
+    private static boolean accepts(MediaType mediaType) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return true;
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (Objects.isNull(accept)) return true;
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            return accepted.isEmpty() || accepted.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+
+    @Override
+    protected void writeInternal(@NonNull StreamingResponse<?> response, @NonNull HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        if (Objects.nonNull(response.getStatus()) && outputMessage instanceof ServerHttpResponse serverResponse) {
+            serverResponse.setStatusCode(response.getStatus().getHttpStatus());
+        }
+        try (JsonGenerator generator = envelopeWriter.createGenerator(outputMessage.getBody())) {
+            response.writeTo(envelopeWriter, generator);
+        }
+    }
+}
@@ -30,6 +30,21 @@ public class CustomHeaders {
      */
     public static final String TRACE_ID = "X-Trace-Id";
 
+    /**
+     * The W3C Trace Context header carrying the trace ID, parent span ID and trace flags.
+     */
+    public static final String TRACE_PARENT = "traceparent";
+
+    /**
+     * The W3C Trace Context header carrying vendor-specific trace state.
+     */
+    public static final String TRACE_STATE = "tracestate";
+
+    /**
+     * The header carrying the caller's remaining time budget for the request, in milliseconds.
+     */
+    public static final String REQUEST_TIMEOUT = "X-Request-Timeout";
+
     /**
      * List of allowed custom headers.
      */
@@ -38,6 +53,9 @@ public class CustomHeaders {
     static {
         ALLOWED_HEADERS.add(REQUEST_ID);
         ALLOWED_HEADERS.add(TRACE_ID);
+        ALLOWED_HEADERS.add(TRACE_PARENT);
+        ALLOWED_HEADERS.add(TRACE_STATE);
+        ALLOWED_HEADERS.add(REQUEST_TIMEOUT);
     }
 
     /**
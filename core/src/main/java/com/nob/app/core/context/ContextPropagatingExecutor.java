@@ -0,0 +1,49 @@
+package com.nob.app.core.context;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that runs tasks on a delegate executor with the {@link com.nob.app.core.model.ServiceHeader}
+ * of the submitting thread bound.
+ *
+ * <p>Use it for executors that are not managed by Spring, for example with {@code CompletableFuture}:</p>
+ * <blockquote><pre>
+ * Executor executor = ContextPropagatingExecutor.wrap(Executors.newVirtualThreadPerTaskExecutor());
+ * CompletableFuture.supplyAsync(() -&gt; client.fetch(id), executor);
+ * </pre></blockquote>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class ContextPropagatingExecutor implements Executor {
+
+    private final Executor delegate;
+
+
+    /**
+     * Creates an executor propagating the service header to the given delegate.
+     *
+     * @param delegate the executor running the tasks
+     */
+    public ContextPropagatingExecutor(Executor delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+
+    /**
+     * Wraps the given executor, unless it already propagates the service header.
+     *
+     * @param executor the executor to wrap
+     * @return a propagating executor
+     */
+    public static Executor wrap(Executor executor) {
+        return executor instanceof ContextPropagatingExecutor ? executor : new ContextPropagatingExecutor(executor);
+    }
+
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(ServiceHeaderHolder.wrap(command));
+    }
+}
@@ -0,0 +1,60 @@
+package com.nob.app.core.context;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorCustomizer;
+import org.springframework.boot.task.ThreadPoolTaskExecutorCustomizer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Customizes the executors Spring Boot builds, including the one behind {@code @Async} and the virtual
+ * thread executor used when {@code spring.threads.virtual.enabled} is set, so that their tasks run with
+ * the {@link com.nob.app.core.model.ServiceHeader} of the submitting thread bound.
+ *
+ * <p>Spring Boot applies a {@code TaskDecorator} bean only if it is the single one in the context, so
+ * the {@link ContextPropagatingTaskDecorator} is not declared as a bean. Instead, this customizer composes
+ * it with the application's own decorator, if any, which keeps being applied first.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class ContextPropagatingExecutorCustomizer implements ThreadPoolTaskExecutorCustomizer, SimpleAsyncTaskExecutorCustomizer {
+
+    private final ObjectProvider<TaskDecorator> taskDecorator;
+
+
+    /**
+     * Creates the customizer.
+     *
+     * @param taskDecorator the application's task decorator, applied before the context propagation
+     */
+    public ContextPropagatingExecutorCustomizer(ObjectProvider<TaskDecorator> taskDecorator) {
+        this.taskDecorator = taskDecorator;
+    }
+
+
+    @Override
+    public void customize(ThreadPoolTaskExecutor taskExecutor) {
+        taskExecutor.setTaskDecorator(decorator());
+    }
+
+
+    @Override
+    public void customize(SimpleAsyncTaskExecutor taskExecutor) {
+        taskExecutor.setTaskDecorator(decorator());
+    }
+
+
+    private TaskDecorator decorator() {
+        TaskDecorator propagating = new ContextPropagatingTaskDecorator();
+        TaskDecorator application = taskDecorator.getIfUnique();
+        return Objects.nonNull(application) ? new CompositeTaskDecorator(List.of(application, propagating)) : propagating;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nob.app.core.context;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+/**
+ * Task decorator that runs tasks with the {@link com.nob.app.core.model.ServiceHeader} of the
+ * submitting thread bound, see {@link ServiceHeaderHolder#wrap(Runnable)}.
+ *
+ * <p>The decorator is not a bean, since Spring Boot ignores {@code TaskDecorator} beans unless there is
+ * exactly one: the {@link ContextPropagatingExecutorCustomizer} applies it to the executors Spring Boot
+ * builds, composed with the application's own decorator. Executors created by hand can be given this
+ * decorator explicitly or wrapped in a {@link ContextPropagatingExecutor}.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @NonNull
+    @Override
+    public Runnable decorate(@NonNull Runnable runnable) {
+        return ServiceHeaderHolder.wrap(runnable);
+    }
+}
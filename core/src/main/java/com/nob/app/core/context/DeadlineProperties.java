@@ -0,0 +1,35 @@
+package com.nob.app.core.context;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Request deadline settings, bound from {@code nob.core.deadline}.
+ *
+ * <p>A caller sends its remaining time budget in the {@link com.nob.app.core.constant.CustomHeaders#REQUEST_TIMEOUT}
+ * header. A positive budget becomes the deadline of the inbound request, capped at {@code max-timeout} so
+ * that an outside client cannot hold the service to an arbitrary deadline; requests arriving with no
+ * budget left are rejected, and outgoing Feign calls carry whatever budget remains.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.deadline")
+public class DeadlineProperties {
+
+    /** Whether inbound deadlines are enforced and propagated to outgoing calls. */
+    private boolean enabled = true;
+
+    /** The budget of inbound requests that carry none; unset means such requests have no deadline. */
+    private Duration defaultTimeout;
+
+    /** The largest budget accepted from a caller; larger budgets are capped. Unset means no cap. */
+    private Duration maxTimeout = Duration.ofMinutes(1);
+}
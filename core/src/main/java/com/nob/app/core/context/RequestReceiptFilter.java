@@ -0,0 +1,48 @@
+package com.nob.app.core.context;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Servlet filter recording when a request was received, before any other filter of the chain runs.
+ *
+ * <p>The time of receipt is the start of the request's deadline budget (see {@link DeadlineProperties}),
+ * so the time the request spends in the filter chain counts against the budget the caller granted.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestReceiptFilter extends OncePerRequestFilter {
+
+    private static final String RECEIVED_AT = RequestReceiptFilter.class.getName() + ".RECEIVED_AT";
+
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (Objects.isNull(request.getAttribute(RECEIVED_AT))) request.setAttribute(RECEIVED_AT, System.currentTimeMillis());
+        filterChain.doFilter(request, response);
+    }
+
+
+    /**
+     * Returns when the request was received.
+     *
+     * @param request the HTTP servlet request
+     * @return the epoch milliseconds of receipt, or the current time if the filter did not run
+     */
+    public static long getReceivedAt(HttpServletRequest request) {
+        return request.getAttribute(RECEIVED_AT) instanceof Long receivedAt ? receivedAt : System.currentTimeMillis();
+    }
+}
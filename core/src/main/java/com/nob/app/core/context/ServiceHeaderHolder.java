@@ -0,0 +1,231 @@
+package com.nob.app.core.context;
+
+import com.nob.app.core.constant.CustomHeaders;
+import com.nob.app.core.model.ServiceHeader;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Carrier for the {@link ServiceHeader} of the current request.
+ *
+ * <p>The header is stored once as a typed request attribute by the monitoring interceptor and read
+ * back directly, so consumers never need to serialize it into or parse it out of the {@link MDC}.
+ * While a request is being handled, the header is also {@linkplain #bind bound} to the handling
+ * thread, together with the request and trace IDs in the MDC for log patterns. The binding is undone
+ * when the request completes, restoring whatever was bound before.</p>
+ *
+ * <p>Work handed to other threads, such as {@code @Async} methods, {@code CompletableFuture} stages
+ * or virtual threads, carries the header along when its tasks are {@linkplain #wrap(Runnable) wrapped},
+ * which {@link ContextPropagatingTaskDecorator} and {@link ContextPropagatingExecutor} do for executors.
+ * Each task binds the captured header while it runs and unbinds it afterwards, so pooled threads never
+ * keep the header of a previous task.</p>
+ *
+ * <p>All lookups are null-safe: when no header is bound to the current thread and no request is
+ * active, or the header has not been resolved yet, the accessors return {@code null} (falling back to
+ * the MDC for the IDs).</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class ServiceHeaderHolder {
+
+    /**
+     * The request attribute name under which the {@link ServiceHeader} is stored.
+     */
+    public static final String ATTRIBUTE = "serviceHeader";
+
+    private static final ThreadLocal<ServiceHeader> CURRENT = new ThreadLocal<>();
+
+
+    private ServiceHeaderHolder() {}
+
+
+    /**
+     * Binds the given header to the request.
+     *
+     * @param request the HTTP servlet request
+     * @param header  the resolved service header
+     */
+    public static void set(HttpServletRequest request, ServiceHeader header) {
+        request.setAttribute(ATTRIBUTE, header);
+    }
+
+
+    /**
+     * Retrieves the header bound to the given request.
+     *
+     * @param request the HTTP servlet request
+     * @return the bound {@link ServiceHeader}, or {@code null} if none has been bound
+     */
+    public static ServiceHeader get(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof ServiceHeader header ? header : null;
+    }
+
+
+    /**
+     * Retrieves the header bound to the current thread, or else to the request of the current thread.
+     *
+     * @return the bound {@link ServiceHeader}, or {@code null} if none is bound
+     */
+    public static ServiceHeader get() {
+        ServiceHeader current = CURRENT.get();
+        if (Objects.nonNull(current)) return current;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes)) return null;
+        Object header = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return header instanceof ServiceHeader serviceHeader ? serviceHeader : null;
+    }
+
+
+    /**
+     * Returns the request ID of the current request, falling back to the MDC value.
+     *
+     * @return the current request ID, or {@code null} if unknown
+     */
+    public static String getRequestId() {
+        ServiceHeader header = get();
+        return Objects.nonNull(header) ? header.getRequestId() : MDC.get(CustomHeaders.REQUEST_ID);
+    }
+
+
+    /**
+     * Returns the trace ID of the current request, falling back to the MDC value.
+     *
+     * @return the current trace ID, or {@code null} if unknown
+     */
+    public static String getTraceId() {
+        ServiceHeader header = get();
+        return Objects.nonNull(header) ? header.getTraceId() : MDC.get(CustomHeaders.TRACE_ID);
+    }
+
+
+    /**
+     * Binds the given header, and its request and trace IDs in the MDC, to the current thread until
+     * the returned scope is closed.
+     *
+     * <p>Closing the scope restores the header and MDC values bound before, so scopes can be nested.
+     * It must be closed on the thread that opened it, typically with try-with-resources:</p>
+     * <blockquote><pre>
+     * try (ServiceHeaderHolder.Scope ignored = ServiceHeaderHolder.bind(header)) {
+     *     // ServiceHeaderHolder.get() returns header
+     * }
+     * </pre></blockquote>
+     *
+     * @param header the header to bind, or {@code null} to unbind for the duration of the scope
+     * @return the scope to close when the header no longer applies
+     */
+    public static Scope bind(ServiceHeader header) {
+        Scope scope = new Scope(CURRENT.get(), MDC.get(CustomHeaders.REQUEST_ID), MDC.get(CustomHeaders.TRACE_ID));
+        apply(header,
+                Objects.nonNull(header) ? header.getRequestId() : null,
+                Objects.nonNull(header) ? header.getTraceId() : null);
+        return scope;
+    }
+
+
+    /**
+     * Wraps a task so that it runs with the header of the current thread bound.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task, or {@code task} itself if no header is bound
+     */
+    public static Runnable wrap(Runnable task) {
+        ServiceHeader header = get();
+        if (Objects.isNull(header)) return task;
+        return () -> {
+            try (Scope ignored = bind(header)) {
+                task.run();
+            }
+        };
+    }
+
+
+    /**
+     * Wraps a task so that it runs with the header of the current thread bound.
+     *
+     * @param task the task to wrap
+     * @param <V>  the result type of the task
+     * @return the wrapped task, or {@code task} itself if no header is bound
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        ServiceHeader header = get();
+        if (Objects.isNull(header)) return task;
+        return () -> {
+            try (Scope ignored = bind(header)) {
+                return task.call();
+            }
+        };
+    }
+
+
+    /**
+     * Wraps a supplier, such as a {@code CompletableFuture.supplyAsync} stage, so that it runs with
+     * the header of the current thread bound.
+     *
+     * @param supplier the supplier to wrap
+     * @param <V>      the type of the supplied value
+     * @return the wrapped supplier, or {@code supplier} itself if no header is bound
+     */
+    public static <V> Supplier<V> wrap(Supplier<V> supplier) {
+        ServiceHeader header = get();
+        if (Objects.isNull(header)) return supplier;
+        return () -> {
+            try (Scope ignored = bind(header)) {
+                return supplier.get();
+            }
+        };
+    }
+
+
+    private static void apply(ServiceHeader header, String requestId, String traceId) {
+        if (Objects.nonNull(header)) CURRENT.set(header);
+        else CURRENT.remove();
+        putOrRemove(CustomHeaders.REQUEST_ID, requestId);
+        putOrRemove(CustomHeaders.TRACE_ID, traceId);
+    }
+
+
+    private static void putOrRemove(String key, String value) {
+        if (Objects.nonNull(value)) MDC.put(key, value);
+        else MDC.remove(key);
+    }
+
+
+    /**
+     * A binding opened by {@link #bind}; closing it restores the previous binding.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final ServiceHeader previous;
+
+        private final String previousRequestId;
+
+        private final String previousTraceId;
+
+        private boolean closed;
+
+
+        private Scope(ServiceHeader previous, String previousRequestId, String previousTraceId) {
+            this.previous = previous;
+            this.previousRequestId = previousRequestId;
+            this.previousTraceId = previousTraceId;
+        }
+
+
+        /**
+         * Restores the header and MDC values bound before this scope was opened. Closing twice has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            apply(previous, previousRequestId, previousTraceId);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.nob.app.core.context;
+
+import com.nob.app.core.id.W3cIdGenerator;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * The parsed {@code traceparent} header of the <a href="https://www.w3.org/TR/trace-context/">W3C Trace
+ * Context</a> specification, with helpers to format it and to map the IDs used by this library onto
+ * its formats.
+ *
+ * <p>A {@code traceparent} value has the form {@code version-traceId-parentId-flags}, for example
+ * {@code 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01}. Parsing follows the specification:
+ * IDs are lowercase hex and not all zeros, version {@code ff} is invalid, and values of future
+ * versions may carry additional fields, which are ignored.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+public final class TraceContext {
+
+    /** The {@code traceparent} version written by this library. */
+    public static final String VERSION = "00";
+
+    /** The trace flags marking a trace as sampled. */
+    public static final String SAMPLED = "01";
+
+    private static final int LENGTH = 55;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final W3cIdGenerator SPAN_IDS = new W3cIdGenerator();
+
+    /** The 32 hex character trace ID. */
+    private final String traceId;
+
+    /** The 16 hex character ID of the caller's span. */
+    private final String parentId;
+
+    /** The 2 hex character trace flags. */
+    private final String flags;
+
+
+    private TraceContext(String traceId, String parentId, String flags) {
+        this.traceId = traceId;
+        this.parentId = parentId;
+        this.flags = flags;
+    }
+
+
+    /**
+     * Parses a {@code traceparent} header value.
+     *
+     * @param traceparent the header value, may be {@code null}
+     * @return the parsed context, or {@code null} if the value is absent or invalid
+     */
+    public static TraceContext parse(String traceparent) {
+        if (Objects.isNull(traceparent)) return null;
+        String value = traceparent.trim();
+        if (value.length() < LENGTH) return null;
+        if (value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') return null;
+        if (!isHex(value, 0, 2) || value.startsWith("ff")) return null;
+        if (value.startsWith(VERSION) ? value.length() != LENGTH : value.length() > LENGTH && value.charAt(LENGTH) != '-') return null;
+        if (!isHex(value, 3, 35) || isZero(value, 3, 35)) return null;
+        if (!isHex(value, 36, 52) || isZero(value, 36, 52)) return null;
+        if (!isHex(value, 53, 55)) return null;
+        return new TraceContext(value.substring(3, 35), value.substring(36, 52), value.substring(53, 55));
+    }
+
+
+    /**
+     * Formats a {@code traceparent} header value of version {@value #VERSION}.
+     *
+     * @param traceId  the 32 hex character trace ID
+     * @param parentId the 16 hex character span ID of the caller
+     * @param flags    the 2 hex character trace flags
+     * @return the header value
+     */
+    public static String format(String traceId, String parentId, String flags) {
+        return VERSION + '-' + traceId + '-' + parentId + '-' + flags;
+    }
+
+
+    /**
+     * Generates a new random span ID.
+     *
+     * @return a 16 hex character span ID, never all zeros
+     */
+    public static String newSpanId() {
+        return SPAN_IDS.nextRequestId();
+    }
+
+
+    /**
+     * Maps a trace ID of any supported format onto a W3C trace ID.
+     *
+     * <p>W3C trace IDs are returned as is, and UUIDs and ULIDs are converted to the hex form of their
+     * 128 bits, so the mapping is reversible for the IDs generated by the built-in
+     * {@link com.nob.app.core.id.IdGenerator}s. Other values are hashed, which is deterministic, so
+     * every service derives the same W3C trace ID from the same {@code X-Trace-Id}.</p>
+     *
+     * @param id the trace ID
+     * @return the 32 hex character W3C trace ID, or {@code null} if {@code id} is {@code null}
+     */
+    public static String toTraceId(String id) {
+        if (Objects.isNull(id)) return null;
+        if (id.length() == 32 && isHex(id, 0, 32) && !isZero(id, 0, 32)) return id;
+        if (id.length() == 36) {
+            String hex = id.replace("-", "").toLowerCase();
+            if (hex.length() == 32 && isHex(hex, 0, 32) && !isZero(hex, 0, 32)) return hex;
+        }
+        if (id.length() == 26) {
+            String hex = decodeUlid(id);
+            if (Objects.nonNull(hex)) return hex;
+        }
+        return hash(id);
+    }
+
+
+    private static String decodeUlid(String id) {
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 26; i++) {
+            int value = crockford(id.charAt(i));
+            if (value < 0 || (i == 0 && value > 7)) return null;
+            high = (high << 5) | (low >>> 59);
+            low = (low << 5) | value;
+        }
+        return high == 0 && low == 0 ? null : toHex(high, low);
+    }
+
+
+    private static int crockford(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        char upper = Character.toUpperCase(c);
+        if (upper < 'A' || upper > 'Z' || upper == 'I' || upper == 'L' || upper == 'O' || upper == 'U') return -1;
+        int value = upper - 'A' + 10;
+        if (upper > 'I') value--;
+        if (upper > 'L') value--;
+        if (upper > 'O') value--;
+        if (upper > 'U') value--;
+        return value;
+    }
+
+
+    private static String hash(String id) {
+        long high = 0xcbf29ce484222325L;
+        long low = 0x84222325cbf29ce4L;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            high = (high ^ c) * 0x100000001b3L;
+            low = (low ^ c) * 0x9e3779b97f4a7c15L;
+        }
+        high = mix(high);
+        low = mix(low ^ high);
+        return toHex(high, low == 0 && high == 0 ? 1 : low);
+    }
+
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+
+    private static String toHex(long high, long low) {
+        char[] buffer = new char[32];
+        for (int i = 15; i >= 0; i--) {
+            buffer[i] = HEX[(int) (high & 15)];
+            buffer[i + 16] = HEX[(int) (low & 15)];
+            high >>>= 4;
+            low >>>= 4;
+        }
+        return new String(buffer);
+    }
+
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+
+    private static boolean isZero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingPathVariableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
@@ -32,7 +34,9 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -40,8 +44,10 @@ import java.util.stream.Collectors;
  * This class extends {@link ResponseEntityExceptionHandler} and provides
  * centralized exception handling for common Spring MVC exceptions.
  *
- * <p>Each overridden method logs the exception and returns a standardized response
- * using {@link Response#wrap}.</p>
+ * <p>Each overridden method logs the exception and answers with a standardized response
+ * through {@link #respond}: written directly by the {@link ErrorResponseWriter} when one is available,
+ * and otherwise returned with {@link Response#wrap}. Exceptions are logged through the {@link ErrorLogAggregator}
+ * when one is available, so repeated exceptions are summarized instead of logged one by one.</p>
  * @author Truong Ngo
  * @version 1.0
  */
@@ -49,14 +55,104 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
     
     private static final Logger log = LoggerFactory.getLogger(AbstractGlobalExceptionHandler.class);
 
+    private ErrorLogAggregator errorLogAggregator;
+
+    private ErrorResponseWriter errorResponseWriter;
+
+
+    /**
+     * Sets the aggregator through which handled exceptions are logged.
+     *
+     * @param errorLogAggregator the error log aggregator
+     */
+    @Autowired(required = false)
+    public void setErrorLogAggregator(ErrorLogAggregator errorLogAggregator) {
+        this.errorLogAggregator = errorLogAggregator;
+    }
+
+
+    /**
+     * Sets the writer through which error responses are written directly to the response.
+     *
+     * @param errorResponseWriter the error response writer
+     */
+    @Autowired(required = false)
+    public void setErrorResponseWriter(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+
+    /**
+     * Logs a handled exception on a single line.
+     *
+     * @param ex     the handled exception
+     * @param status the status answered
+     */
+    protected void logException(Exception ex, ApplicationStatus status) {
+        logException(ex, status, false);
+    }
+
+
+    /**
+     * Logs a handled exception, through the {@link ErrorLogAggregator} if one is available.
+     * Server errors are logged at {@code ERROR} level, client errors at {@code WARN} level.
+     *
+     * @param ex             the handled exception
+     * @param status         the status answered
+     * @param withStackTrace whether to log the stack trace
+     */
+    protected void logException(Exception ex, ApplicationStatus status, boolean withStackTrace) {
+        if (Objects.nonNull(errorLogAggregator)) errorLogAggregator.log(log, ex, status, withStackTrace);
+        else ErrorLogAggregator.write(log, ex, status, withStackTrace);
+    }
+
+
+    /**
+     * Answers with the given status and data and the default message and description of the status.
+     *
+     * @param request the current request
+     * @param status  the status to answer with
+     * @param data    the response data
+     * @return the response entity, or {@code null} if the response was written directly
+     */
+    protected ResponseEntity<Object> respond(WebRequest request, StatusDefinition status, Object data) {
+        return respond(request, status, data, status.getMessage(), status.getDescription());
+    }
+
+
+    /**
+     * Answers with the given status, data, message and description, written directly by the
+     * {@link ErrorResponseWriter} if one is available and the client accepts its formats.
+     *
+     * @param request     the current request
+     * @param status      the status to answer with
+     * @param data        the response data
+     * @param message     the response message
+     * @param description the response description
+     * @return the response entity, or {@code null} if the response was written directly
+     */
+    protected ResponseEntity<Object> respond(WebRequest request, StatusDefinition status, Object data, String message, String description) {
+        if (Objects.nonNull(errorResponseWriter) && request instanceof ServletWebRequest servletRequest && Objects.nonNull(servletRequest.getResponse())) {
+            try {
+                if (errorResponseWriter.write(servletRequest.getRequest(), servletRequest.getResponse(), status, data, message, description)) {
+                    return null;
+                }
+            } catch (IOException e) {
+                log.debug("Failed to write error response: {}", e.getMessage());
+                return null;
+            }
+        }
+        return Response.wrap(status, data, message, description);
+    }
+
     @Override
     public ResponseEntity<Object> handleHttpRequestMethodNotSupported(
             @NonNull HttpRequestMethodNotSupportedException ex, 
             @NonNull HttpHeaders headers, 
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Method not supported");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Method not supported");
     }
 
     @Override
@@ -65,8 +161,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Method media type not acceptable");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Method media type not acceptable");
     }
 
     @Override
@@ -75,8 +171,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Missing path variable");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Missing path variable");
     }
 
     @Override
@@ -85,8 +181,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Missing required request params");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Missing required request params");
     }
 
     @Override
@@ -95,8 +191,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Missing required request part");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Missing required request part");
     }
 
     @Override
@@ -105,8 +201,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_DATA, "Request binding error");
+        logException(ex, ApplicationStatus.INVALID_DATA);
+        return respond(request, ApplicationStatus.INVALID_DATA, "Request binding error");
     }
 
     @Override
@@ -115,8 +211,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_DATA, "Invalid method parameter");
+        logException(ex, ApplicationStatus.INVALID_DATA);
+        return respond(request, ApplicationStatus.INVALID_DATA, "Invalid method parameter");
     }
 
     @Override
@@ -125,8 +221,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_DATA, "Method validation failed");
+        logException(ex, ApplicationStatus.INVALID_DATA);
+        return respond(request, ApplicationStatus.INVALID_DATA, "Method validation failed");
     }
 
     @Override
@@ -135,8 +231,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "No handler found");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "No handler found");
     }
 
     @Override
@@ -145,8 +241,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status, 
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.RESOURCE_NOT_FOUND, "Resource not found");
+        logException(ex, ApplicationStatus.RESOURCE_NOT_FOUND);
+        return respond(request, ApplicationStatus.RESOURCE_NOT_FOUND, "Resource not found");
     }
 
     @Override
@@ -155,8 +251,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INTERNAL_SERVER_ERROR, null, "Request timed out", "The request took too long to process");
+        logException(ex, ApplicationStatus.INTERNAL_SERVER_ERROR);
+        return respond(request, ApplicationStatus.INTERNAL_SERVER_ERROR, null, "Request timed out", "The request took too long to process");
     }
 
     @Override
@@ -165,14 +261,14 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
         String supportedTypes = ex.getSupportedMediaTypes().stream()
                 .map(Object::toString)
                 .collect(Collectors.joining(", "));
         String description = supportedTypes.isEmpty()
                 ? "The provided Content-Type is not supported"
                 : "Supported media types: " + supportedTypes;
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, null, "Unsupported media type", description);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, null, "Unsupported media type", description);
     }
 
 
@@ -182,12 +278,12 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatus status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
+        logException(ex, ApplicationStatus.VALIDATION_ERROR);
         List<String> errors = ex.getAllErrors()
                 .stream()
                 .map(MessageSourceResolvable::getDefaultMessage)
                 .collect(Collectors.toList());
-        return Response.wrap(ApplicationStatus.VALIDATION_ERROR, errors, "Method validation failed", "One or more constraints were violated");
+        return respond(request, ApplicationStatus.VALIDATION_ERROR, errors, "Method validation failed", "One or more constraints were violated");
     }
 
 
@@ -197,8 +293,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "Invalid request payload");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "Invalid request payload");
     }
 
     @Override
@@ -207,8 +303,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INTERNAL_SERVER_ERROR, "Error writing response");
+        logException(ex, ApplicationStatus.INTERNAL_SERVER_ERROR);
+        return respond(request, ApplicationStatus.INTERNAL_SERVER_ERROR, "Error writing response");
     }
 
     @Override
@@ -217,8 +313,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INTERNAL_SERVER_ERROR, "Conversion not supported");
+        logException(ex, ApplicationStatus.INTERNAL_SERVER_ERROR);
+        return respond(request, ApplicationStatus.INTERNAL_SERVER_ERROR, "Conversion not supported");
     }
 
     @Override
@@ -227,14 +323,14 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_DATA, "Type mismatch");
+        logException(ex, ApplicationStatus.INVALID_DATA);
+        return respond(request, ApplicationStatus.INVALID_DATA, "Type mismatch");
     }
 
     @Override
     protected ResponseEntity<Object> handleAsyncRequestNotUsableException(
             @NonNull AsyncRequestNotUsableException ex, @NonNull WebRequest request) {
-        log.error(ex.getMessage());
+        logException(ex, ApplicationStatus.INTERNAL_SERVER_ERROR);
         return Response.wrap(ApplicationStatus.INTERNAL_SERVER_ERROR, "Async request not usable");
     }
 
@@ -244,8 +340,8 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INVALID_REQUEST, "File size exceeds limit");
+        logException(ex, ApplicationStatus.INVALID_REQUEST);
+        return respond(request, ApplicationStatus.INVALID_REQUEST, "File size exceeds limit");
     }
 
     @Override
@@ -254,7 +350,7 @@ public abstract class AbstractGlobalExceptionHandler extends ResponseEntityExcep
             @NonNull HttpHeaders headers,
             @NonNull HttpStatusCode status,
             @NonNull WebRequest request) {
-        log.error(ex.getMessage());
-        return Response.wrap(ApplicationStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+        logException(ex, ApplicationStatus.INTERNAL_SERVER_ERROR);
+        return respond(request, ApplicationStatus.INTERNAL_SERVER_ERROR, "Error processing request");
     }
 }
@@ -5,6 +5,10 @@ import lombok.Setter;
 
 /**
  * Abstract base class for application-specific exceptions.
+ *
+ * <p>Exceptions whose status or type is configured as stackless in the {@link StackTracePolicy} are
+ * created without walking the stack, which makes throwing them as control flow cheap. A cause is given
+ * through the constructor taking one; exceptions created without a cause cannot be given one later.</p>
  */
 @Getter
 @Setter
@@ -14,6 +18,22 @@ public abstract class ApplicationException extends RuntimeException {
     private String description;
     private Object detail;
 
+    /**
+     * Constructs an ApplicationException with a message, status, description, additional details and a cause.
+     *
+     * @param message     the exception message
+     * @param status      the application status associated with the exception
+     * @param description a detailed description of the exception
+     * @param detail      additional details about the exception
+     * @param cause       the cause of the exception
+     */
+    protected ApplicationException(String message, ApplicationStatus status, String description, Object detail, Throwable cause) {
+        super(message, cause, true, StackTracePolicy.isWritable(status));
+        this.status = status;
+        this.description = description;
+        this.detail = detail;
+    }
+
     /**
      * Constructs an ApplicationException with a message, status, description, and additional details.
      *
@@ -23,7 +43,7 @@ public abstract class ApplicationException extends RuntimeException {
      * @param detail      additional details about the exception
      */
     protected ApplicationException(String message, ApplicationStatus status, String description, Object detail) {
-        super(message);
+        super(message, null, true, StackTracePolicy.isWritable(status));
         this.status = status;
         this.description = description;
         this.detail = detail;
@@ -37,7 +57,7 @@ public abstract class ApplicationException extends RuntimeException {
      * @param description a detailed description of the exception
      */
     protected ApplicationException(String message, ApplicationStatus status, String description) {
-        super(message);
+        super(message, null, true, StackTracePolicy.isWritable(status));
         this.status = status;
         this.description = description;
         this.detail = null;
@@ -50,7 +70,7 @@ public abstract class ApplicationException extends RuntimeException {
      * @param detail additional details about the exception
      */
     protected ApplicationException(ApplicationStatus status, Object detail) {
-        super(status.toString());
+        super(status.toString(), null, true, StackTracePolicy.isWritable(status));
         this.status = status;
         this.description = status.getDescription();
         this.detail = detail;
@@ -62,9 +82,21 @@ public abstract class ApplicationException extends RuntimeException {
      * @param status the application status associated with the exception
      */
     protected ApplicationException(ApplicationStatus status) {
-        super(status.toString());
+        super(status.toString(), null, true, StackTracePolicy.isWritable(status));
         this.status = status;
         this.description = status.getDescription();
         this.detail = null;
     }
+
+
+    /**
+     * Records the stack trace, unless the type of this exception is configured as stackless.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (StackTracePolicy.isStackless(getClass())) return this;
+        return super.fillInStackTrace();
+    }
 }
@@ -13,12 +13,17 @@ import org.springframework.http.HttpStatus;
  * ApplicationStatus status = ApplicationStatus.SUCCESS;
  * }
  * </p>
+ * <p>
+ * Statuses are resolved back from their wire {@code status} and {@code code} with
+ * {@link #fromStatus(String)} and {@link #fromCode(String)}, or with the {@link ApplicationStatusRegistry},
+ * which also knows the statuses defined by services.
+ * </p>
  *
  * @author Truong Ngo
  * @version 1.0.0
  */
 @Getter
-public enum ApplicationStatus {
+public enum ApplicationStatus implements StatusDefinition {
 
     /** Success response. */
     SUCCESS("000", "SUCCESS", HttpStatus.OK, "Success", "The operation was completed successfully"),
@@ -95,4 +100,26 @@ public enum ApplicationStatus {
         this.message = message;
         this.description = description;
     }
+
+
+    /**
+     * Resolves the built-in status with the given wire {@code status}.
+     *
+     * @param status the status code, such as {@code 006}
+     * @return the matching status, or {@code null} if it is not a built-in status
+     */
+    public static ApplicationStatus fromStatus(String status) {
+        return ApplicationStatusRegistry.byStatus(status) instanceof ApplicationStatus applicationStatus ? applicationStatus : null;
+    }
+
+
+    /**
+     * Resolves the built-in status with the given {@code code}.
+     *
+     * @param code the code, such as {@code RESOURCE_NOT_FOUND}
+     * @return the matching status, or {@code null} if it is not a built-in status
+     */
+    public static ApplicationStatus fromCode(String code) {
+        return ApplicationStatusRegistry.byCode(code) instanceof ApplicationStatus applicationStatus ? applicationStatus : null;
+    }
 }
@@ -0,0 +1,27 @@
+package com.nob.app.core.exception;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the {@link StatusDefinition} beans with the {@link ApplicationStatusRegistry}.
+ *
+ * <p>The registry is shared by the whole JVM; statuses already registered by another application
+ * context are ignored, while a status reusing the {@code status} or {@code code} of a different one
+ * fails the startup.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class ApplicationStatusRegistrar {
+
+    /**
+     * Creates the registrar and registers the status beans.
+     *
+     * @param definitions the custom statuses declared as beans
+     */
+    public ApplicationStatusRegistrar(ObjectProvider<StatusDefinition> definitions) {
+        ApplicationStatusRegistry.register(definitions.orderedStream().toList());
+    }
+}
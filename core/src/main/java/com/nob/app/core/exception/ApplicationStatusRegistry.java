@@ -0,0 +1,200 @@
+package com.nob.app.core.exception;
+
+import org.springframework.http.HttpStatusCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Static registry of the {@link StatusDefinition}s responses can be answered with, looked up by their
+ * wire {@code status}, {@code code} or HTTP status in constant time.
+ *
+ * <p>The registry starts out with the {@link ApplicationStatus} constants. Services add their own
+ * statuses during startup, either by calling {@link #register} or by declaring {@code StatusDefinition}
+ * beans picked up by the {@link ApplicationStatusRegistrar}. Registering a status identical to a registered
+ * one is a no-op, so that several application contexts of the same JVM, such as test contexts, can
+ * register the same statuses. Every registration builds a new immutable table, so lookups read a single
+ * volatile field and never lock:</p>
+ * <ul>
+ *     <li>three-digit statuses, such as {@code 006}, index an array of 1000 slots, other statuses a map;</li>
+ *     <li>codes are kept in an immutable map;</li>
+ *     <li>HTTP statuses index an array of 600 slots holding the canonical status of each, that is the one
+ *     whose code is the name of the HTTP status, such as {@code INTERNAL_SERVER_ERROR} for 500, or else
+ *     the first registered.</li>
+ * </ul>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class ApplicationStatusRegistry {
+
+    private static final int NUMERIC_STATUSES = 1000;
+
+    private static final int HTTP_STATUSES = 600;
+
+    private static final Object LOCK = new Object();
+
+    private static volatile Table table = new Table(List.of(ApplicationStatus.values()));
+
+
+    private ApplicationStatusRegistry() {}
+
+
+    /**
+     * Registers the given statuses. Statuses identical to a registered one are ignored.
+     *
+     * @param definitions the statuses to register
+     * @throws IllegalArgumentException if a status reuses the {@code status} or {@code code} of another one
+     */
+    public static void register(StatusDefinition... definitions) {
+        register(Arrays.asList(definitions));
+    }
+
+
+    /**
+     * Registers the given statuses. Statuses identical to a registered one are ignored.
+     *
+     * @param definitions the statuses to register
+     * @throws IllegalArgumentException if a status reuses the {@code status} or {@code code} of another one
+     */
+    public static void register(Collection<? extends StatusDefinition> definitions) {
+        synchronized (LOCK) {
+            List<StatusDefinition> registered = new ArrayList<>(table.definitions);
+            for (StatusDefinition definition : definitions) {
+                if (registered.stream().noneMatch(existing -> isIdentical(existing, definition))) registered.add(definition);
+            }
+            if (registered.size() == table.definitions.size()) return;
+            table = new Table(registered);
+        }
+    }
+
+
+    /**
+     * Returns every registered status, in registration order.
+     *
+     * @return an immutable list of the registered statuses
+     */
+    public static List<StatusDefinition> statuses() {
+        return table.definitions;
+    }
+
+
+    /**
+     * Looks a status up by its wire {@code status}.
+     *
+     * @param status the status code, such as {@code 006}
+     * @return the matching status, or {@code null} if none is registered
+     */
+    public static StatusDefinition byStatus(String status) {
+        if (Objects.isNull(status)) return null;
+        Table current = table;
+        int number = number(status);
+        if (number < 0) return current.byStatus.get(status);
+        StatusDefinition definition = current.byNumber[number];
+        return Objects.nonNull(definition) && definition.getStatus().equals(status) ? definition : null;
+    }
+
+
+    /**
+     * Looks a status up by its {@code code}.
+     *
+     * @param code the code, such as {@code RESOURCE_NOT_FOUND}
+     * @return the matching status, or {@code null} if none is registered
+     */
+    public static StatusDefinition byCode(String code) {
+        return Objects.nonNull(code) ? table.byCode.get(code) : null;
+    }
+
+
+    /**
+     * Looks up the canonical status of an HTTP status.
+     *
+     * @param httpStatus the HTTP status
+     * @return the canonical status, or {@code null} if no status answers with the HTTP status
+     */
+    public static StatusDefinition byHttpStatus(HttpStatusCode httpStatus) {
+        return Objects.nonNull(httpStatus) ? byHttpStatus(httpStatus.value()) : null;
+    }
+
+
+    /**
+     * Looks up the canonical status of an HTTP status.
+     *
+     * @param httpStatus the HTTP status code, such as {@code 404}
+     * @return the canonical status, or {@code null} if no status answers with the HTTP status
+     */
+    public static StatusDefinition byHttpStatus(int httpStatus) {
+        return httpStatus >= 0 && httpStatus < HTTP_STATUSES ? table.byHttpStatus[httpStatus] : null;
+    }
+
+
+    private static boolean isIdentical(StatusDefinition existing, StatusDefinition definition) {
+        return existing.equals(definition) || (Objects.equals(existing.getStatus(), definition.getStatus())
+                && Objects.equals(existing.getCode(), definition.getCode())
+                && existing.getHttpStatus() == definition.getHttpStatus()
+                && Objects.equals(existing.getMessage(), definition.getMessage())
+                && Objects.equals(existing.getDescription(), definition.getDescription()));
+    }
+
+
+    private static int number(String status) {
+        if (status.length() != 3) return -1;
+        int number = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = status.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+
+    /**
+     * An immutable snapshot of the registered statuses and their lookup tables.
+     */
+    private static final class Table {
+
+        private final List<StatusDefinition> definitions;
+
+        private final StatusDefinition[] byNumber = new StatusDefinition[NUMERIC_STATUSES];
+
+        private final Map<String, StatusDefinition> byStatus;
+
+        private final Map<String, StatusDefinition> byCode;
+
+        private final StatusDefinition[] byHttpStatus = new StatusDefinition[HTTP_STATUSES];
+
+        Table(List<StatusDefinition> definitions) {
+            Map<String, StatusDefinition> statuses = new HashMap<>();
+            Map<String, StatusDefinition> codes = new HashMap<>();
+            for (StatusDefinition definition : definitions) {
+                String status = Objects.requireNonNull(definition.getStatus(), "status");
+                String code = Objects.requireNonNull(definition.getCode(), "code");
+                int httpStatus = Objects.requireNonNull(definition.getHttpStatus(), "httpStatus").value();
+                StatusDefinition previous = statuses.putIfAbsent(status, definition);
+                if (Objects.nonNull(previous)) throw new IllegalArgumentException("Status " + status + " of " + code + " is already used by " + previous.getCode());
+                previous = codes.putIfAbsent(code, definition);
+                if (Objects.nonNull(previous)) throw new IllegalArgumentException("Code " + code + " is already registered");
+                int number = number(status);
+                if (number >= 0) byNumber[number] = definition;
+                StatusDefinition canonical = byHttpStatus[httpStatus];
+                if (Objects.isNull(canonical) || (isNamedAfter(definition) && !isNamedAfter(canonical))) {
+                    byHttpStatus[httpStatus] = definition;
+                }
+            }
+            statuses.keySet().removeIf(status -> number(status) >= 0);
+            this.definitions = List.copyOf(definitions);
+            this.byStatus = Map.copyOf(statuses);
+            this.byCode = Map.copyOf(codes);
+        }
+
+        private static boolean isNamedAfter(StatusDefinition definition) {
+            return definition.getCode().equals(definition.getHttpStatus().name());
+        }
+    }
+}
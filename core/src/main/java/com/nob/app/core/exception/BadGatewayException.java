@@ -21,6 +21,18 @@ package com.nob.app.core.exception;
  */
 public class BadGatewayException extends ApplicationException {
 
+    /**
+     * Constructs a BadGatewayException with a message, description, additional details, and a cause.
+     *
+     * @param message     A short error message describing the issue.
+     * @param description A detailed description of why the bad gateway error occurred.
+     * @param detail      Additional information related to the error (e.g., upstream response details).
+     * @param cause       The exception that caused this error (e.g., the failure of the upstream call).
+     */
+    public BadGatewayException(String message, String description, Object detail, Throwable cause) {
+        super(message, ApplicationStatus.BAD_GATEWAY, description, detail, cause);
+    }
+
     /**
      * Constructs a BadGatewayException with a message, description, and additional details.
      *
@@ -0,0 +1,42 @@
+package com.nob.app.core.exception;
+
+/**
+ * Exception thrown when work is shed because the caller's deadline has already passed.
+ * This is an expected outcome under load rather than a server fault, so the exception is created
+ * without a stack trace and the {@link GlobalExceptionHandler} answers it without logging an error.
+ *
+ * <p>Example usage:</p>
+ * <blockquote><pre>
+ * if (header.remainingMillis() &lt;= 0) {
+ *     throw new DeadlineExceededException("Deadline exceeded", "The caller's deadline has passed.");
+ * }
+ * </pre></blockquote>
+ *
+ * <p>Default error status: {@link ApplicationStatus#GATEWAY_TIMEOUT}</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class DeadlineExceededException extends GatewayTimeoutException {
+
+    /**
+     * Constructs a DeadlineExceededException with a message and description.
+     *
+     * @param message     A short error message describing the issue.
+     * @param description A detailed description of the deadline that passed.
+     */
+    public DeadlineExceededException(String message, String description) {
+        super(message, description);
+    }
+
+
+    /**
+     * Skips recording the stack trace, which says nothing about a shed request.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
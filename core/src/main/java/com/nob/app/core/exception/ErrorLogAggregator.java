@@ -0,0 +1,213 @@
+package com.nob.app.core.exception;
+
+import com.nob.app.core.metrics.HttpServerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deduplicates the log lines of handled exceptions.
+ *
+ * <p>Exceptions are fingerprinted by type, status and route. The first occurrence of a fingerprint is
+ * logged right away; further occurrences are only counted, and every {@code summary-interval} one line
+ * per fingerprint reports how many were suppressed, with the last message. A fingerprint that did not
+ * occur during an interval is forgotten, so its next occurrence is logged right away again. A client
+ * repeating a bad request therefore costs a log line per interval instead of one per request. When
+ * aggregation is disabled, every occurrence is logged and no summary thread is started.</p>
+ *
+ * <p>Every occurrence is counted in {@code nob.http.server.errors}, tagged with the exception type,
+ * the status code and the route.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class ErrorLogAggregator {
+
+    private final ExceptionProperties.Aggregation properties;
+
+    private final MeterRegistry registry;
+
+    private final Map<Fingerprint, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+
+    /**
+     * Creates the aggregator, using the {@link MeterRegistry} bean if one is declared.
+     *
+     * @param properties the exception properties
+     * @param registry   the meter registry provider
+     * @throws IllegalArgumentException if aggregation is enabled with a summary interval under one millisecond
+     */
+    public ErrorLogAggregator(ExceptionProperties properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties.getAggregation();
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        if (!this.properties.isEnabled()) {
+            this.scheduler = null;
+            return;
+        }
+        Duration summaryInterval = this.properties.getSummaryInterval();
+        if (Objects.isNull(summaryInterval) || summaryInterval.toMillis() < 1) {
+            throw new IllegalArgumentException("nob.core.exception.aggregation.summary-interval must be at least 1ms, was " + summaryInterval);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "error-log-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = summaryInterval.toMillis();
+        scheduler.scheduleAtFixedRate(this::summarize, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Logs a handled exception, or counts it if the same fingerprint was logged during the current interval.
+     *
+     * <p>Server errors are logged at {@code ERROR} level, client errors at {@code WARN} level. An occurrence
+     * is counted while holding the entry's map slot, so that {@link #summarize()} cannot forget the entry
+     * in between and lose it.</p>
+     *
+     * @param logger         the logger to write to
+     * @param ex             the handled exception
+     * @param status         the status answered
+     * @param withStackTrace whether the stack trace is logged with the first occurrence
+     */
+    public void log(Logger logger, Throwable ex, ApplicationStatus status, boolean withStackTrace) {
+        Fingerprint fingerprint = new Fingerprint(ex.getClass(), status, currentRoute());
+        if (!entries.containsKey(fingerprint) && entries.size() >= properties.getMaxFingerprints()) {
+            fingerprint = new Fingerprint(ex.getClass(), status, HttpServerMetrics.OTHER);
+        }
+        String message = ex.getMessage();
+        while (true) {
+            Entry entry = entries.computeIfPresent(fingerprint, (key, current) -> {
+                if (properties.isEnabled()) {
+                    current.lastMessage = message;
+                    current.suppressed.incrementAndGet();
+                }
+                return current;
+            });
+            if (Objects.nonNull(entry)) {
+                entry.counter.increment();
+                if (!properties.isEnabled()) write(logger, ex, status, withStackTrace);
+                return;
+            }
+            Entry created = new Entry(logger, counter(fingerprint));
+            if (Objects.isNull(entries.putIfAbsent(fingerprint, created))) {
+                created.counter.increment();
+                write(logger, ex, status, withStackTrace);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Logs the pending summaries and stops the summary thread.
+     */
+    @PreDestroy
+    public void stop() {
+        if (Objects.isNull(scheduler)) return;
+        scheduler.shutdownNow();
+        summarize();
+    }
+
+
+    /**
+     * Logs one summary line per fingerprint that occurred again since the last summary, and forgets
+     * the fingerprints that did not. A fingerprint is only forgotten if it is still idle while holding
+     * its map slot; an occurrence counted meanwhile keeps it for the next summary.
+     */
+    void summarize() {
+        long seconds = properties.getSummaryInterval().toSeconds();
+        entries.forEach((fingerprint, entry) -> {
+            long suppressed = entry.suppressed.getAndSet(0);
+            if (suppressed == 0) {
+                entries.computeIfPresent(fingerprint, (key, current) -> current.suppressed.get() == 0 ? null : current);
+                return;
+            }
+            String format = "{} more {} ({} {}) on {} in the last {}s, last: {}";
+            Object[] arguments = {
+                    suppressed, fingerprint.type().getName(), fingerprint.status().getHttpStatus().value(),
+                    fingerprint.status().getCode(), fingerprint.route(), seconds, entry.lastMessage};
+            if (fingerprint.status().getHttpStatus().is5xxServerError()) entry.logger.error(format, arguments);
+            else entry.logger.warn(format, arguments);
+        });
+    }
+
+
+    private Counter counter(Fingerprint fingerprint) {
+        return Counter.builder("nob.http.server.errors")
+                .description("Handled exceptions")
+                .tag("exception", fingerprint.type().getSimpleName())
+                .tag("status", fingerprint.status().getCode())
+                .tag("route", fingerprint.route())
+                .register(registry);
+    }
+
+
+    /**
+     * Logs a handled exception right away: server errors at {@code ERROR} level, client errors at
+     * {@code WARN} level, on a single line unless the stack trace is requested.
+     *
+     * @param logger         the logger to write to
+     * @param ex             the handled exception
+     * @param status         the status answered
+     * @param withStackTrace whether to log the stack trace
+     */
+    static void write(Logger logger, Throwable ex, ApplicationStatus status, boolean withStackTrace) {
+        if (withStackTrace) {
+            logger.error(ex.getMessage(), ex);
+        } else if (status.getHttpStatus().is5xxServerError()) {
+            logger.error("{} {}: {}", status.getHttpStatus().value(), status.getCode(), ex.getMessage());
+        } else {
+            logger.warn("{} {}: {}", status.getHttpStatus().value(), status.getCode(), ex.getMessage());
+        }
+    }
+
+
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object route = Objects.nonNull(attributes) ?
+                attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) :
+                null;
+        return Objects.nonNull(route) ? route.toString() : HttpServerMetrics.UNMATCHED;
+    }
+
+
+    private record Fingerprint(Class<?> type, ApplicationStatus status, String route) {}
+
+
+    private static final class Entry {
+
+        private final Logger logger;
+
+        private final Counter counter;
+
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private volatile String lastMessage;
+
+
+        private Entry(Logger logger, Counter counter) {
+            this.logger = logger;
+            this.counter = counter;
+        }
+    }
+}
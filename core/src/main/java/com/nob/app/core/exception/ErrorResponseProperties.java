@@ -0,0 +1,42 @@
+package com.nob.app.core.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the error responses written by the {@link ErrorResponseWriter}, bound from
+ * {@code nob.core.error-response}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.error-response")
+public class ErrorResponseProperties {
+
+    /** Whether handled exceptions are written directly to the response instead of through a {@code ResponseEntity}. */
+    private boolean enabled = false;
+
+    /** The format used when the client accepts any JSON, or sends no {@code Accept} header. */
+    private Format format = Format.ENVELOPE;
+
+    /** The base URI of problem types, such as {@code https://errors.example.com/}; {@code about:blank} is used if unset. */
+    private String problemTypeBaseUri;
+
+
+    /**
+     * The format of error responses.
+     */
+    public enum Format {
+
+        /** The {@link com.nob.app.core.model.Response} envelope, as {@code application/json}. */
+        ENVELOPE,
+
+        /** RFC 9457 problem details, as {@code application/problem+json}. */
+        PROBLEM
+    }
+}
@@ -0,0 +1,140 @@
+package com.nob.app.core.exception;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.accesslog.AccessLogRecord;
+import com.nob.app.core.model.ProblemDetailWriter;
+import com.nob.app.core.model.RawJson;
+import com.nob.app.core.model.Response;
+import com.nob.app.core.model.ResponseEnvelopeWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes error responses of handled exceptions straight to the servlet response, as the
+ * {@link Response} envelope or as RFC 9457 problem details depending on the {@code Accept} header.
+ *
+ * <p>Enabled with {@code nob.core.error-response.enabled}, the {@link AbstractGlobalExceptionHandler}
+ * answers through this writer instead of returning a {@code ResponseEntity}, which skips building the
+ * entity and selecting a message converter. Both formats are assembled from fragments precomputed per
+ * status, by the {@link ResponseEnvelopeWriter} and the {@link ProblemDetailWriter}, so only {@code data}
+ * is serialized by Jackson. The body is written with its {@code Content-Length} and recorded on the
+ * access log record, since response body advices do not see it.</p>
+ *
+ * <p>A client explicitly accepting {@code application/problem+json} over {@code application/json} gets
+ * problem details, and the other way around; wildcards and a missing {@code Accept} header get the
+ * configured {@linkplain ErrorResponseProperties#getFormat() format}. When the client accepts neither,
+ * the mapper configuration is not reproducible by the envelope writer, or the response is already
+ * committed, nothing is written and the handler falls back to a {@code ResponseEntity}.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.error-response", name = "enabled", havingValue = "true")
+public class ErrorResponseWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final ErrorResponseProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final ResponseEnvelopeWriter envelopeWriter;
+
+    private final ProblemDetailWriter problemDetailWriter;
+
+
+    /**
+     * Creates the writer for the application object mapper.
+     *
+     * @param properties   the error response properties
+     * @param objectMapper the application object mapper
+     */
+    public ErrorResponseWriter(ErrorResponseProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.envelopeWriter = new ResponseEnvelopeWriter(objectMapper);
+        this.problemDetailWriter = new ProblemDetailWriter(envelopeWriter, properties.getProblemTypeBaseUri());
+    }
+
+
+    /**
+     * Writes the error response.
+     *
+     * @param request     the HTTP servlet request
+     * @param response    the HTTP servlet response
+     * @param status      the status answered
+     * @param data        the response data, may be {@code null}
+     * @param message     the response message
+     * @param description the response description
+     * @return {@code true} if the response was written, {@code false} if the caller has to answer instead
+     * @throws IOException if writing the response fails
+     */
+    public boolean write(HttpServletRequest request, HttpServletResponse response, StatusDefinition status,
+                         Object data, String message, String description) throws IOException {
+        if (response.isCommitted()) return false;
+        ErrorResponseProperties.Format format = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (Objects.isNull(format)) return false;
+        if (format == ErrorResponseProperties.Format.ENVELOPE && !envelopeWriter.isCompatible()) return false;
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (JsonGenerator generator = envelopeWriter.createGenerator(buffer)) {
+            if (format == ErrorResponseProperties.Format.PROBLEM) {
+                problemDetailWriter.write(status, message, description, data, request.getRequestURI(), generator);
+            } else {
+                envelopeWriter.write(Response.envelope(status, data, message, description), generator);
+            }
+        }
+        byte[] body = buffer.toByteArray();
+        response.setStatus(status.getHttpStatus().value());
+        response.setContentType(format == ErrorResponseProperties.Format.PROBLEM
+                ? MediaType.APPLICATION_PROBLEM_JSON_VALUE
+                : MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (request.getAttribute(AccessLogRecord.ATTRIBUTE) instanceof AccessLogRecord record) {
+            record.setResponsePayload(new RawJson(body, 0, body.length, objectMapper));
+        }
+        response.getOutputStream().write(body);
+        return true;
+    }
+
+
+    /**
+     * Selects the format of the error response.
+     *
+     * @param accept the {@code Accept} header, may be {@code null}
+     * @return the format, or {@code null} if the client accepts neither format
+     */
+    ErrorResponseProperties.Format negotiate(String accept) {
+        if (Objects.isNull(accept) || accept.isBlank()) return properties.getFormat();
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return properties.getFormat();
+        }
+        double problem = 0;
+        double envelope = 0;
+        double any = 0;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_PROBLEM_JSON)) problem = Math.max(problem, quality);
+            else if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) envelope = Math.max(envelope, quality);
+            else if (mediaType.includes(MediaType.APPLICATION_PROBLEM_JSON)) any = Math.max(any, quality);
+        }
+        if (problem > envelope && problem >= any) return ErrorResponseProperties.Format.PROBLEM;
+        if (envelope > problem && envelope >= any) return ErrorResponseProperties.Format.ENVELOPE;
+        return problem > 0 || any > 0 ? properties.getFormat() : null;
+    }
+}
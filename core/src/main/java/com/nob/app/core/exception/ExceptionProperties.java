@@ -0,0 +1,57 @@
+package com.nob.app.core.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stack trace and logging settings of handled exceptions, bound from {@code nob.core.exception}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see StackTracePolicy
+ * @see ErrorLogAggregator
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.exception")
+public class ExceptionProperties {
+
+    /** Statuses whose exceptions are created without a stack trace, such as {@code RESOURCE_NOT_FOUND}. */
+    private Set<ApplicationStatus> stacklessStatuses = EnumSet.noneOf(ApplicationStatus.class);
+
+    /** Exception types, including their subtypes, created without a stack trace. */
+    private List<Class<? extends ApplicationException>> stacklessTypes = new ArrayList<>();
+
+    /** Which handled exceptions are logged with their stack trace; the others are logged on a single line. */
+    private StackTracePolicy.Logging stackTraceLogging = StackTracePolicy.Logging.SERVER_ERRORS;
+
+    /** Aggregation of the log lines of handled exceptions. */
+    private Aggregation aggregation = new Aggregation();
+
+
+    /**
+     * Aggregation of the log lines of handled exceptions.
+     */
+    @Getter
+    @Setter
+    public static class Aggregation {
+
+        /** Whether repeated exceptions are summarized instead of logged one by one. */
+        private boolean enabled = true;
+
+        /** How often repeated exceptions are summarized. */
+        private Duration summaryInterval = Duration.ofMinutes(1);
+
+        /** The most distinct fingerprints tracked; further routes are tracked together as {@code OTHER}. */
+        private int maxFingerprints = 1000;
+    }
+}
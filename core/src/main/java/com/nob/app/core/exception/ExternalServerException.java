@@ -21,6 +21,18 @@ package com.nob.app.core.exception;
  */
 public class ExternalServerException extends ApplicationException {
 
+    /**
+     * Constructs an ExternalServerException with a message, description, additional details, and a cause.
+     *
+     * @param message     A short error message describing the issue.
+     * @param description A detailed description of why the external server error occurred.
+     * @param detail      Additional information related to the error (e.g., API response, exception details).
+     * @param cause       The exception that caused this error (e.g., the failure of the external call).
+     */
+    public ExternalServerException(String message, String description, Object detail, Throwable cause) {
+        super(message, ApplicationStatus.EXTERNAL_SERVER_ERROR, description, detail, cause);
+    }
+
     /**
      * Constructs an ExternalServerException with a message, description, and additional details.
      *
@@ -20,6 +20,18 @@ package com.nob.app.core.exception;
  */
 public class GatewayTimeoutException extends ApplicationException {
 
+    /**
+     * Constructs a GatewayTimeoutException with a message, description, additional details, and a cause.
+     *
+     * @param message     A short error message describing the issue.
+     * @param description A detailed description of why the gateway timeout error occurred.
+     * @param detail      Additional information related to the error (e.g., upstream response time).
+     * @param cause       The exception that caused this error (e.g., the timeout of the upstream call).
+     */
+    public GatewayTimeoutException(String message, String description, Object detail, Throwable cause) {
+        super(message, ApplicationStatus.GATEWAY_TIMEOUT, description, detail, cause);
+    }
+
     /**
      * Constructs a GatewayTimeoutException with a message, description, and additional details.
      *
@@ -1,10 +1,11 @@
 package com.nob.app.core.exception;
 
-import com.nob.app.core.model.Response;
-import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Global exception handler that captures application-specific exceptions
@@ -17,20 +18,47 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * @author Truong Ngo
  * @version 1.0.0
  */
-@Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler extends AbstractGlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+
+    /**
+     * Handles {@link DeadlineExceededException}, thrown when work is shed because the caller's
+     * deadline has passed.
+     *
+     * <p>Shedding is an expected outcome under load and is already recorded in the access log, so the
+     * exception is only logged at {@code DEBUG} level, without a stack trace, and is not counted as a
+     * server error.</p>
+     *
+     * @param ex      the DeadlineExceededException
+     * @param request the current request
+     * @return a response entity with the gateway timeout status, or {@code null} if the response was
+     *         written directly
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceeded(DeadlineExceededException ex, WebRequest request) {
+        log.debug("Shed request with an expired deadline: {}", ex.getDescription());
+        return respond(request, ex.getStatus(), ex.getDetail(), ex.getMessage(), ex.getDescription());
+    }
+
+
     /**
      * Handles {@link ApplicationException} and returns an appropriate response.
      *
-     * @param ex the ApplicationException
-     * @return a response entity with the corresponding status and message
+     * <p>The exception is logged with its stack trace if the {@link StackTracePolicy} says so, by
+     * default for 5xx statuses, and otherwise on a single line.</p>
+     *
+     * @param ex      the ApplicationException
+     * @param request the current request
+     * @return a response entity with the corresponding status and message, or {@code null} if the
+     *         response was written directly
      */
     @ExceptionHandler(ApplicationException.class)
-    public ResponseEntity<Object> handleApplicationException(ApplicationException ex) {
-        log.error(ex.getMessage(), ex);
-        return Response.wrap(ex);
+    public ResponseEntity<Object> handleApplicationException(ApplicationException ex, WebRequest request) {
+        logException(ex, ex.getStatus(), StackTracePolicy.isLoggedWithStackTrace(ex.getStatus()));
+        return respond(request, ex.getStatus(), ex.getDetail(), ex.getMessage(), ex.getDescription());
     }
 
 }
@@ -0,0 +1,112 @@
+package com.nob.app.core.exception;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Static access point to the stack trace policy of {@link ApplicationException}s.
+ *
+ * <p>Exceptions thrown as control flow, such as {@link ResourceNotFoundException} on a missing entity,
+ * pay for walking the stack on every construction although the trace is never looked at. Exceptions
+ * of the configured statuses or types are created without a stack trace instead. Exceptions are
+ * created with {@code new}, so the policy configured at startup by {@link StackTracePolicyRegistrar}
+ * is published here. Until then, and by default, every exception has its stack trace.</p>
+ *
+ * <p>The policy also decides which exceptions the {@link GlobalExceptionHandler} logs with their stack
+ * trace; by default only those answered with a 5xx status.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class StackTracePolicy {
+
+    private static volatile Set<ApplicationStatus> stacklessStatuses = EnumSet.noneOf(ApplicationStatus.class);
+
+    private static volatile List<Class<?>> stacklessTypes = List.of();
+
+    private static volatile Logging logging = Logging.SERVER_ERRORS;
+
+    private static final Map<Class<?>, Boolean> STACKLESS_BY_TYPE = new ConcurrentHashMap<>();
+
+
+    private StackTracePolicy() {}
+
+
+    /**
+     * Replaces the policy.
+     *
+     * @param statuses the statuses whose exceptions have no stack trace
+     * @param types    the exception types, including their subtypes, that have no stack trace
+     * @param logging  which exceptions are logged with their stack trace
+     */
+    public static void configure(Collection<ApplicationStatus> statuses, Collection<? extends Class<?>> types, Logging logging) {
+        stacklessStatuses = statuses.isEmpty() ? EnumSet.noneOf(ApplicationStatus.class) : EnumSet.copyOf(statuses);
+        stacklessTypes = List.copyOf(types);
+        StackTracePolicy.logging = Objects.requireNonNull(logging, "logging");
+        STACKLESS_BY_TYPE.clear();
+    }
+
+
+    /**
+     * Returns whether exceptions of the given status record a stack trace.
+     *
+     * @param status the exception status
+     * @return {@code false} if the status is configured as stackless
+     */
+    public static boolean isWritable(ApplicationStatus status) {
+        return !stacklessStatuses.contains(status);
+    }
+
+
+    /**
+     * Returns whether exceptions of the given type are created without a stack trace.
+     *
+     * @param type the exception type
+     * @return {@code true} if the type or one of its supertypes is configured as stackless
+     */
+    public static boolean isStackless(Class<?> type) {
+        if (stacklessTypes.isEmpty()) return false;
+        Boolean stackless = STACKLESS_BY_TYPE.get(type);
+        if (Objects.isNull(stackless)) {
+            stackless = stacklessTypes.stream().anyMatch(stacklessType -> stacklessType.isAssignableFrom(type));
+            STACKLESS_BY_TYPE.put(type, stackless);
+        }
+        return stackless;
+    }
+
+
+    /**
+     * Returns whether a handled exception of the given status is logged with its stack trace.
+     *
+     * @param status the exception status
+     * @return {@code true} to log the stack trace, {@code false} to log a single line
+     */
+    public static boolean isLoggedWithStackTrace(ApplicationStatus status) {
+        return switch (logging) {
+            case ALL -> true;
+            case SERVER_ERRORS -> status.getHttpStatus().is5xxServerError();
+            case NONE -> false;
+        };
+    }
+
+
+    /**
+     * Which handled exceptions are logged with their stack trace.
+     */
+    public enum Logging {
+
+        /** Every exception. */
+        ALL,
+
+        /** Exceptions answered with a 5xx status. */
+        SERVER_ERRORS,
+
+        /** No exception. */
+        NONE
+    }
+}
@@ -0,0 +1,22 @@
+package com.nob.app.core.exception;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the configured {@link StackTracePolicy} at startup.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class StackTracePolicyRegistrar {
+
+    /**
+     * Creates the registrar and publishes the policy.
+     *
+     * @param properties the exception properties
+     */
+    public StackTracePolicyRegistrar(ExceptionProperties properties) {
+        StackTracePolicy.configure(properties.getStacklessStatuses(), properties.getStacklessTypes(), properties.getStackTraceLogging());
+    }
+}
@@ -0,0 +1,51 @@
+package com.nob.app.core.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A status that responses can be answered with, as listed by {@link ApplicationStatus}.
+ *
+ * <p>Services define statuses of their own, typically as an enum implementing this interface, and
+ * register them with the {@link ApplicationStatusRegistry} at startup so that they can be looked up
+ * by their wire {@code status} and {@code code} like the built-in ones.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public interface StatusDefinition {
+
+    /**
+     * Returns the status code representing the response category, such as {@code 006}.
+     *
+     * @return the status code
+     */
+    String getStatus();
+
+    /**
+     * Returns the unique application-specific code identifying the status, such as {@code RESOURCE_NOT_FOUND}.
+     *
+     * @return the code
+     */
+    String getCode();
+
+    /**
+     * Returns the HTTP status responses of this status are answered with.
+     *
+     * @return the HTTP status
+     */
+    HttpStatus getHttpStatus();
+
+    /**
+     * Returns the short default message.
+     *
+     * @return the message
+     */
+    String getMessage();
+
+    /**
+     * Returns the detailed default description.
+     *
+     * @return the description
+     */
+    String getDescription();
+}
@@ -0,0 +1,176 @@
+package com.nob.app.core.feign;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulkhead with an additive-increase/multiplicative-decrease (AIMD) concurrency limit for the calls
+ * to one Feign client.
+ *
+ * <p>A call takes a slot while the number of calls in flight is below the current limit. Each call
+ * that succeeds while the limiter is at least half used raises the limit by about one per limit's worth
+ * of calls, up to {@code max-concurrent-calls}; each call that signals overload multiplies it by
+ * {@code backoff-ratio}, down to {@code min-limit}. A slow downstream therefore gets fewer concurrent
+ * calls instead of holding on to every request thread.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class ConcurrencyLimiter {
+
+    private final FeignResilienceProperties.Policy policy;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong hedges = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    private volatile double limit;
+
+
+    /**
+     * Creates a limiter following the given policy.
+     *
+     * @param policy the client's policy
+     */
+    public ConcurrencyLimiter(FeignResilienceProperties.Policy policy) {
+        this.policy = policy;
+        this.limit = policy.isAdaptive() ?
+                Math.max(policy.getMinLimit(), Math.min(policy.getInitialLimit(), policy.getMaxConcurrentCalls())) :
+                policy.getMaxConcurrentCalls();
+    }
+
+
+    /**
+     * Takes a slot if one is free, without waiting.
+     *
+     * @return whether a slot was taken
+     */
+    public boolean tryAcquire() {
+        int max = getLimit();
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= max) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+
+    /**
+     * Takes a slot, waiting up to {@code max-wait} for one to become free.
+     *
+     * @return whether a slot was taken
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire() throws InterruptedException {
+        if (tryAcquire()) return true;
+        long nanos = policy.getMaxWait().toNanos();
+        if (nanos <= 0) return false;
+        lock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while (!tryAcquire()) {
+                if (nanos <= 0) return false;
+                nanos = released.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Frees a slot and adapts the limit to the outcome of the call.
+     *
+     * @param dropped whether the call signalled overload
+     */
+    public void release(boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (policy.isAdaptive()) adapt(dropped, current);
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+
+    /**
+     * Takes a slot for a hedged request if one is free and hedging it does not exceed
+     * {@code max-hedge-ratio}. The hedge is only counted against the ratio once the slot is taken.
+     *
+     * @return whether a slot was taken for the hedged request
+     */
+    public boolean tryHedge() {
+        if (hedges.get() + 1 > requests.get() * policy.getMaxHedgeRatio()) return false;
+        if (!tryAcquire()) return false;
+        hedges.incrementAndGet();
+        return true;
+    }
+
+
+    /**
+     * Counts a request eligible for hedging.
+     */
+    public void countRequest() {
+        if (requests.incrementAndGet() >= 1_000_000) {
+            requests.set(requests.get() / 2);
+            hedges.set(hedges.get() / 2);
+        }
+    }
+
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of calls allowed in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return the calls holding a slot
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+
+    /**
+     * Returns whether a call took longer than the latency threshold.
+     *
+     * @param elapsedNanos the duration of the call
+     * @return whether the call counts as overload
+     */
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos > policy.getLatencyThreshold().toNanos();
+    }
+
+
+    private synchronized void adapt(boolean dropped, int inFlightBefore) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(policy.getMinLimit(), current * policy.getBackoffRatio());
+        } else if (inFlightBefore * 2 >= current) {
+            limit = Math.min(policy.getMaxConcurrentCalls(), current + 1 / current);
+        }
+    }
+}
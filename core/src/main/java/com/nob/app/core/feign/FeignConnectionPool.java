@@ -0,0 +1,220 @@
+package com.nob.app.core.feign;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.BindResult;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of the HTTP connections used by Feign clients.
+ *
+ * <p>With {@code feign-hc5} on the classpath, Spring Cloud OpenFeign sends requests with Apache
+ * HttpClient 5 and uses the {@link HttpClientConnectionManager} bean for its connections, so this pool
+ * replaces the one it would create. Connections are reused across calls to the same host, instead of
+ * paying the TCP and TLS handshakes on each call, and are retired after {@code time-to-live}. Hosts
+ * listed in {@link FeignHttpClientProperties#getHosts()} get their own limit, applied when the first
+ * connection to them is leased.</p>
+ *
+ * <p>The {@code spring.cloud.openfeign.httpclient.*} pool settings OpenFeign would have applied to its own
+ * pool still apply: {@code max-connections}, {@code max-connections-per-route} and {@code time-to-live}
+ * stand in for the {@code nob.core.feign.http} properties that are not set, and the {@code hc5} pool
+ * policies and socket timeout are used as they are. A setting overridden by a {@code nob.core.feign.http}
+ * property, or not supported, such as {@code disable-ssl-validation}, is logged as ignored.</p>
+ *
+ * <p>The pool totals are published as the {@code httpcomponents.httpclient.pool.*} meters tagged
+ * {@code httpclient=feign}, and the leased, pending and available connections of each listed host as
+ * {@code nob.feign.http.pool.connections} tagged with the host and state.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.feign.http", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FeignConnectionPool implements HttpClientConnectionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(FeignConnectionPool.class);
+
+    private static final String PREFIX = "nob.core.feign.http.";
+
+    private static final String OPEN_FEIGN_PREFIX = "spring.cloud.openfeign.httpclient.";
+
+    private final FeignHttpClientProperties properties;
+
+    private final MeterRegistry registry;
+
+    private final PoolingHttpClientConnectionManager delegate;
+
+    private final Map<HttpRoute, Boolean> configuredRoutes = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates the pool, using the {@link MeterRegistry} bean if one is declared.
+     *
+     * @param properties  the pool properties
+     * @param registry    the meter registry provider
+     * @param environment the environment, read for the OpenFeign pool settings
+     */
+    public FeignConnectionPool(FeignHttpClientProperties properties, ObjectProvider<MeterRegistry> registry, Environment environment) {
+        this.properties = properties;
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        Binder binder = Binder.get(environment);
+        Long timeToLive = openFeignSetting(binder, "time-to-live", "time-to-live", Long.class);
+        Integer socketTimeout = openFeignSetting(binder, null, "hc5.socket-timeout", Integer.class);
+        if (binder.bind(OPEN_FEIGN_PREFIX + "disable-ssl-validation", Boolean.class).orElse(false)) {
+            log.warn("{}disable-ssl-validation is ignored, Feign connections are pooled by {}", OPEN_FEIGN_PREFIX, FeignConnectionPool.class.getName());
+        }
+        this.delegate = PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(Objects.requireNonNullElse(
+                        openFeignSetting(binder, null, "hc5.pool-concurrency-policy", PoolConcurrencyPolicy.class),
+                        PoolConcurrencyPolicy.STRICT))
+                .setConnPoolPolicy(Objects.requireNonNullElse(
+                        openFeignSetting(binder, null, "hc5.pool-reuse-policy", PoolReusePolicy.class),
+                        PoolReusePolicy.LIFO))
+                .setMaxConnTotal(Objects.requireNonNullElse(
+                        openFeignSetting(binder, "max-connections", "max-connections", Integer.class),
+                        properties.getMaxConnections()))
+                .setMaxConnPerRoute(Objects.requireNonNullElse(
+                        openFeignSetting(binder, "max-connections-per-host", "max-connections-per-route", Integer.class),
+                        properties.getMaxConnectionsPerHost()))
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .setSoTimeout(Objects.nonNull(socketTimeout) ?
+                                Timeout.of(socketTimeout, unit(binder, "hc5.socket-timeout-unit")) :
+                                SocketConfig.DEFAULT.getSoTimeout())
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setTimeToLive(Objects.nonNull(timeToLive) ?
+                                TimeValue.of(timeToLive, unit(binder, "time-to-live-unit")) :
+                                TimeValue.of(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .build())
+                .useSystemProperties()
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(delegate, "feign").bindTo(this.registry);
+    }
+
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        if (!configuredRoutes.containsKey(route)) configure(route);
+        return delegate.lease(id, route, requestTimeout, state);
+    }
+
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        delegate.release(endpoint, newState, validDuration);
+    }
+
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        delegate.connect(endpoint, connectTimeout, context);
+    }
+
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        delegate.upgrade(endpoint, context);
+    }
+
+
+    @Override
+    public void close(CloseMode closeMode) {
+        delegate.close(closeMode);
+    }
+
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+
+    /**
+     * Returns the statistics of the whole pool.
+     *
+     * @return the leased, pending and available connections
+     */
+    public PoolStats getTotalStats() {
+        return delegate.getTotalStats();
+    }
+
+
+    private static <T> T openFeignSetting(Binder binder, String name, String openFeignName, Class<T> type) {
+        BindResult<T> setting = binder.bind(OPEN_FEIGN_PREFIX + openFeignName, type);
+        if (!setting.isBound()) return null;
+        if (Objects.nonNull(name) && binder.bind(PREFIX + name, Object.class).isBound()) {
+            log.warn("{}{} is ignored in favour of {}{}", OPEN_FEIGN_PREFIX, openFeignName, PREFIX, name);
+            return null;
+        }
+        return setting.get();
+    }
+
+
+    private static TimeUnit unit(Binder binder, String openFeignName) {
+        return binder.bind(OPEN_FEIGN_PREFIX + openFeignName, TimeUnit.class).orElse(TimeUnit.SECONDS);
+    }
+
+
+    private void configure(HttpRoute route) {
+        configuredRoutes.computeIfAbsent(route, key -> {
+            HttpHost target = key.getTargetHost();
+            String host = target.getHostName();
+            Integer max = properties.getHosts().get(host + ":" + target.getPort());
+            if (Objects.isNull(max)) max = properties.getHosts().get(host);
+            if (Objects.isNull(max)) return Boolean.FALSE;
+            delegate.setMaxPerRoute(key, max);
+            register(key, host + ":" + target.getPort());
+            return Boolean.TRUE;
+        });
+    }
+
+
+    private void register(HttpRoute route, String host) {
+        Gauge.builder("nob.feign.http.pool.connections", () -> delegate.getStats(route).getLeased())
+                .description("Connections to the host in use")
+                .tag("host", host).tag("state", "leased")
+                .register(registry);
+        Gauge.builder("nob.feign.http.pool.connections", () -> delegate.getStats(route).getPending())
+                .description("Requests waiting for a connection to the host")
+                .tag("host", host).tag("state", "pending")
+                .register(registry);
+        Gauge.builder("nob.feign.http.pool.connections", () -> delegate.getStats(route).getAvailable())
+                .description("Idle connections to the host")
+                .tag("host", host).tag("state", "available")
+                .register(registry);
+    }
+}
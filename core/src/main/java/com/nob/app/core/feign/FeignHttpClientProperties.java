@@ -0,0 +1,51 @@
+package com.nob.app.core.feign;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pool settings of the Apache HttpClient 5 used by Feign, bound from {@code nob.core.feign.http}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see FeignConnectionPool
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.feign.http")
+public class FeignHttpClientProperties {
+
+    /** Whether Feign connections are pooled by the {@link FeignConnectionPool}. */
+    private boolean enabled = true;
+
+    /** The most connections open at once, across all hosts. */
+    private int maxConnections = 200;
+
+    /** The most connections open at once to a host without its own entry in {@code hosts}. */
+    private int maxConnectionsPerHost = 50;
+
+    /**
+     * The most connections open at once per host, keyed by host name or {@code host:port} as
+     * connected to; with client-side load balancing, that is the address of the instance.
+     */
+    private Map<String, Integer> hosts = new HashMap<>();
+
+    /** How long an idle connection is kept when the server does not say; shorter server values take precedence. */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /** How long a connection is used at most, so that DNS and load balancer changes are picked up. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /** How long a connection may be idle before it is checked for staleness on lease. */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /** The connect timeout; Feign request options take precedence. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+}
@@ -1,38 +1,136 @@
 package com.nob.app.core.feign;
 
+import com.nob.app.core.constant.CustomHeaders;
+import com.nob.app.core.context.DeadlineProperties;
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.exception.DeadlineExceededException;
+import com.nob.app.core.model.ServiceHeader;
 import com.nob.app.core.service.TokenService;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import feign.Target;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Objects;
 
 /**
- * Feign request interceptor that adds an Authorization header with a Bearer token.
+ * Feign request interceptor that propagates the caller's identity and trace context.
  *
- * <p>This interceptor retrieves the JWT token from {@link TokenService} and attaches it
- * to outgoing Feign client requests if no Authorization header is already present.</p>
+ * <p>This interceptor retrieves the JWT token from {@link TokenService} and attaches the token
+ * returned for it by the {@link OutboundTokenProvider} to outgoing Feign client requests if no
+ * Authorization header is already present. By default that is the caller's token itself; depending on
+ * {@link OutboundTokenProperties#getMode()}, requests made without an authenticated caller, such as
+ * from scheduled jobs, carry a client credentials token, and caller tokens are exchanged for tokens
+ * issued to the called service. The audience is the Feign client name, or the one mapped to it in
+ * {@link OutboundTokenProperties#getAudiences()}.</p>
+ *
+ * <p>It also forwards the request and trace IDs of the current {@link ServiceHeader} in the
+ * {@link CustomHeaders#REQUEST_ID} and {@link CustomHeaders#TRACE_ID} headers, and the W3C
+ * {@code traceparent} (with this hop's span as parent) and {@code tracestate} headers, so the
+ * downstream service continues the same trace. Headers already set on the request are kept.</p>
+ *
+ * <p>When the current request has a deadline, the time left is sent in the
+ * {@link CustomHeaders#REQUEST_TIMEOUT} header, so the downstream service stops working on the call
+ * once the original caller has given up. Calls made after the deadline has passed are not sent and
+ * fail with a {@link DeadlineExceededException}.</p>
  * @author Truong Ngo
  * @version 1.0
  */
 @Component
 public class FeignInterceptor implements RequestInterceptor {
 
+    private final OutboundTokenProvider tokenProvider;
+
+    private final OutboundTokenProperties tokenProperties;
+
+    private final DeadlineProperties deadlineProperties;
+
+
     /**
-     * Adds the Authorization header to outgoing requests if not already present.
+     * Creates the interceptor.
+     *
+     * @param tokenProvider      the outbound token provider; the caller's token is forwarded if none is available
+     * @param tokenProperties    the outbound token properties
+     * @param deadlineProperties the request deadline properties
+     */
+    public FeignInterceptor(ObjectProvider<OutboundTokenProvider> tokenProvider, OutboundTokenProperties tokenProperties, DeadlineProperties deadlineProperties) {
+        this.tokenProvider = tokenProvider.getIfAvailable(() -> (audience, caller) -> Objects.nonNull(caller) ? caller.getTokenValue() : null);
+        this.tokenProperties = tokenProperties;
+        this.deadlineProperties = deadlineProperties;
+    }
+
+
+    /**
+     * Adds the Authorization, tracing and deadline headers to outgoing requests if not already present.
      *
      * @param requestTemplate the request template to modify.
+     * @throws DeadlineExceededException if the deadline of the current request has passed
      */
     @Override
     public void apply(RequestTemplate requestTemplate) {
-        Collection<String> authzHeaders = requestTemplate.headers().get(HttpHeaders.AUTHORIZATION);
-        if (Objects.nonNull(authzHeaders) && !authzHeaders.isEmpty()) return;
-        Jwt jwt = TokenService.getJwtToken();
-        if (Objects.isNull(jwt)) return;
-        String token = jwt.getTokenValue();
+        applyDeadline(requestTemplate);
+        applyAuthorization(requestTemplate);
+        applyTraceContext(requestTemplate);
+    }
+
+
+    private void applyDeadline(RequestTemplate requestTemplate) {
+        if (!deadlineProperties.isEnabled() || hasHeader(requestTemplate, CustomHeaders.REQUEST_TIMEOUT)) return;
+        ServiceHeader header = ServiceHeaderHolder.get();
+        Long remaining = Objects.nonNull(header) ? header.remainingMillis() : null;
+        if (Objects.isNull(remaining)) return;
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(
+                    "Deadline exceeded",
+                    "The deadline of the current request passed before calling " + requestTemplate.url());
+        }
+        requestTemplate.header(CustomHeaders.REQUEST_TIMEOUT, Long.toString(remaining));
+    }
+
+
+    private void applyAuthorization(RequestTemplate requestTemplate) {
+        if (hasHeader(requestTemplate, HttpHeaders.AUTHORIZATION)) return;
+        String token = tokenProvider.getToken(audience(requestTemplate), TokenService.getJwtToken());
+        if (Objects.isNull(token)) return;
         requestTemplate.header(HttpHeaders.AUTHORIZATION, TokenService.BEARER + " " + token);
     }
+
+
+    private String audience(RequestTemplate requestTemplate) {
+        Target<?> target = requestTemplate.feignTarget();
+        if (Objects.isNull(target) || Objects.isNull(target.name())) return null;
+        return tokenProperties.getAudiences().getOrDefault(target.name(), target.name());
+    }
+
+
+    private void applyTraceContext(RequestTemplate requestTemplate) {
+        ServiceHeader header = ServiceHeaderHolder.get();
+        if (Objects.isNull(header)) {
+            setIfAbsent(requestTemplate, CustomHeaders.REQUEST_ID, ServiceHeaderHolder.getRequestId());
+            setIfAbsent(requestTemplate, CustomHeaders.TRACE_ID, ServiceHeaderHolder.getTraceId());
+            return;
+        }
+        setIfAbsent(requestTemplate, CustomHeaders.REQUEST_ID, header.getRequestId());
+        setIfAbsent(requestTemplate, CustomHeaders.TRACE_ID, header.getTraceId());
+        if (hasHeader(requestTemplate, CustomHeaders.TRACE_PARENT)) return;
+        String traceParent = header.toTraceParent();
+        if (Objects.isNull(traceParent)) return;
+        requestTemplate.header(CustomHeaders.TRACE_PARENT, traceParent);
+        setIfAbsent(requestTemplate, CustomHeaders.TRACE_STATE, header.getTraceState());
+    }
+
+
+    private static void setIfAbsent(RequestTemplate requestTemplate, String name, String value) {
+        if (Objects.isNull(value) || hasHeader(requestTemplate, name)) return;
+        requestTemplate.header(name, value);
+    }
+
+
+    private static boolean hasHeader(RequestTemplate requestTemplate, String name) {
+        Collection<String> values = requestTemplate.headers().get(name);
+        return Objects.nonNull(values) && !values.isEmpty();
+    }
 }
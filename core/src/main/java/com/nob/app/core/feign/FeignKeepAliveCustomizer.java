@@ -0,0 +1,47 @@
+package com.nob.app.core.feign;
+
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunes the keep-alive of the Apache HttpClient 5 built by Spring Cloud OpenFeign.
+ *
+ * <p>Idle connections are kept for the duration the server announces in its {@code Keep-Alive}
+ * header, capped at {@link FeignHttpClientProperties#getKeepAlive()}, which also applies when the
+ * server announces none. Connections idle for longer are closed in the background, before the server
+ * or an intermediate load balancer drops them and a request fails on a stale connection.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.feign.http", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FeignKeepAliveCustomizer implements HttpClient5FeignConfiguration.HttpClientBuilderCustomizer {
+
+    private final FeignHttpClientProperties properties;
+
+
+    /**
+     * Creates the customizer.
+     *
+     * @param properties the pool properties
+     */
+    public FeignKeepAliveCustomizer(FeignHttpClientProperties properties) {
+        this.properties = properties;
+    }
+
+
+    @Override
+    public void customize(HttpClientBuilder builder) {
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+        builder.setKeepAliveStrategy((response, context) -> {
+            TimeValue announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(announced) && announced.compareTo(keepAlive) < 0 ? announced : keepAlive;
+        });
+        builder.evictIdleConnections(keepAlive);
+    }
+}
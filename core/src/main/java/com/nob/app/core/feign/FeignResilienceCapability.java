@@ -0,0 +1,157 @@
+package com.nob.app.core.feign;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feign {@link Capability} wrapping the client of every Feign client in a {@link ResilientFeignClient}
+ * when {@code nob.core.feign.resilience.enabled} is set.
+ *
+ * <p>Spring Cloud OpenFeign applies capability beans to all Feign clients. Each called client gets
+ * its own {@link ConcurrencyLimiter}, so one slow downstream only exhausts its own slots. The limit,
+ * calls in flight, rejected calls and hedged requests are published per client as
+ * {@code nob.feign.client.limit}, {@code nob.feign.client.active}, {@code nob.feign.client.rejected}
+ * and {@code nob.feign.client.hedged}. The threads running hedged attempts are only started once a
+ * client whose policy enables hedging sends its first GET request.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class FeignResilienceCapability implements Capability {
+
+    private static final String TAG_CLIENT = "client";
+
+    private final FeignResilienceProperties properties;
+
+    private final MeterRegistry registry;
+
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> hedges = new ConcurrentHashMap<>();
+
+    private final Executor hedgeExecutor = task -> startedHedgeThreads().execute(task);
+
+    private volatile ExecutorService hedgeThreads;
+
+    private boolean stopped;
+
+
+    /**
+     * Creates the capability, using the {@link MeterRegistry} bean if one is declared.
+     *
+     * @param properties the resilience properties
+     * @param registry   the meter registry provider
+     */
+    public FeignResilienceCapability(FeignResilienceProperties properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+
+    @Override
+    public Client enrich(Client client) {
+        return properties.isEnabled() ? new ResilientFeignClient(client, this, hedgeExecutor) : client;
+    }
+
+
+    /**
+     * Stops the threads running hedged attempts.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        stopped = true;
+        if (Objects.nonNull(hedgeThreads)) hedgeThreads.shutdownNow();
+    }
+
+
+    /**
+     * Returns the policy of the given client.
+     *
+     * @param client the Feign client name
+     * @return the client's policy
+     */
+    FeignResilienceProperties.Policy policyFor(String client) {
+        return properties.policyFor(client);
+    }
+
+
+    /**
+     * Returns the limiter of the given client, creating it on first use.
+     *
+     * @param client the Feign client name
+     * @return the client's limiter
+     */
+    ConcurrencyLimiter limiter(String client) {
+        ConcurrencyLimiter limiter = limiters.get(client);
+        return limiter != null ? limiter : limiters.computeIfAbsent(client, this::register);
+    }
+
+
+    void countRejection(String client) {
+        rejections.computeIfAbsent(client, name -> Counter.builder("nob.feign.client.rejected")
+                .description("Feign calls rejected because the concurrency limit was reached")
+                .tag(TAG_CLIENT, name)
+                .register(registry)).increment();
+    }
+
+
+    void countHedge(String client) {
+        hedges.computeIfAbsent(client, name -> Counter.builder("nob.feign.client.hedged")
+                .description("Hedged Feign GET requests")
+                .tag(TAG_CLIENT, name)
+                .register(registry)).increment();
+    }
+
+
+    private ExecutorService startedHedgeThreads() {
+        ExecutorService threads = hedgeThreads;
+        return Objects.nonNull(threads) ? threads : startHedgeThreads();
+    }
+
+
+    private synchronized ExecutorService startHedgeThreads() {
+        if (stopped) throw new RejectedExecutionException("Feign resilience capability is stopped");
+        if (Objects.isNull(hedgeThreads)) {
+            AtomicInteger count = new AtomicInteger();
+            hedgeThreads = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "feign-hedge-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return hedgeThreads;
+    }
+
+
+    private ConcurrencyLimiter register(String client) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties.policyFor(client));
+        Gauge.builder("nob.feign.client.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Concurrency limit of Feign calls")
+                .tag(TAG_CLIENT, client)
+                .register(registry);
+        Gauge.builder("nob.feign.client.active", limiter, ConcurrencyLimiter::getInFlight)
+                .description("Feign calls in flight")
+                .tag(TAG_CLIENT, client)
+                .register(registry);
+        return limiter;
+    }
+}
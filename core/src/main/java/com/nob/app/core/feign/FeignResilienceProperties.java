@@ -0,0 +1,86 @@
+package com.nob.app.core.feign;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Concurrency limits and hedging of Feign calls, bound from {@code nob.core.feign.resilience}.
+ *
+ * <p>The {@link #getDefaults() defaults} apply to every Feign client not listed in
+ * {@link #getClients() clients}, keyed by client name.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see FeignResilienceCapability
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.feign.resilience")
+public class FeignResilienceProperties {
+
+    /** Whether Feign clients are wrapped with bulkheads, adaptive limits and hedging. */
+    private boolean enabled = false;
+
+    /** The policy of clients without their own entry. */
+    private Policy defaults = new Policy();
+
+    /** The policy per Feign client name. */
+    private Map<String, Policy> clients = new HashMap<>();
+
+
+    /**
+     * Returns the policy of the given client.
+     *
+     * @param client the Feign client name
+     * @return the client's own policy, or the defaults
+     */
+    public Policy policyFor(String client) {
+        return clients.getOrDefault(client, defaults);
+    }
+
+
+    /**
+     * The limits and hedging settings of one Feign client.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /** The bulkhead size: the most calls in flight to the client at any time, and the ceiling of the adaptive limit. */
+        private int maxConcurrentCalls = 100;
+
+        /** How long a call waits for a free slot before it is rejected; zero rejects immediately. */
+        private Duration maxWait = Duration.ZERO;
+
+        /** Whether the limit adapts to the client's health (AIMD); otherwise it stays at {@code max-concurrent-calls}. */
+        private boolean adaptive = true;
+
+        /** The adaptive limit at startup. */
+        private int initialLimit = 20;
+
+        /** The lowest adaptive limit. */
+        private int minLimit = 2;
+
+        /** The factor applied to the adaptive limit when a call signals overload. */
+        private double backoffRatio = 0.9;
+
+        /** Calls slower than this signal overload, like timeouts and 429, 503 and 504 responses. */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        /** Whether slow GET requests are hedged: sent a second time, using whichever response arrives first. */
+        private boolean hedge = false;
+
+        /** How long a GET request runs before it is hedged. */
+        private Duration hedgeDelay = Duration.ofMillis(100);
+
+        /** The largest share of requests that may be hedged, bounding the extra load put on the client. */
+        private double maxHedgeRatio = 0.1;
+    }
+}
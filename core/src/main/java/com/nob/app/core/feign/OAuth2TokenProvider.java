@@ -0,0 +1,322 @@
+package com.nob.app.core.feign;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.exception.ExternalServerException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link OutboundTokenProvider} obtaining tokens from an OAuth 2.0 token endpoint with the client
+ * credentials or token exchange grant, depending on {@link OutboundTokenProperties#getMode()}.
+ *
+ * <p>Tokens are cached per audience, and exchanged tokens per caller token and audience. Caller tokens
+ * are keyed by their SHA-256 digest, so the cache does not retain live credentials. A cached
+ * token is refreshed in the background once it enters the {@code refresh-before-expiry} window, while
+ * it keeps being served, so callers only wait for the token endpoint when there is no valid token at
+ * all. Refreshes are single-flight: concurrent requests for the same key share one token request, so
+ * a burst of outgoing calls results in at most one call to the authorization server per key.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class OAuth2TokenProvider implements OutboundTokenProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(OAuth2TokenProvider.class);
+
+    private static final String GRANT_CLIENT_CREDENTIALS = "client_credentials";
+
+    private static final String GRANT_TOKEN_EXCHANGE = "urn:ietf:params:oauth:grant-type:token-exchange";
+
+    private static final String TOKEN_TYPE_ACCESS_TOKEN = "urn:ietf:params:oauth:token-type:access_token";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(OAuth2TokenProvider::sha256);
+
+    private final OutboundTokenProperties properties;
+
+    private final ConcurrentHashMap<TokenKey, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<TokenKey, CompletableFuture<CachedToken>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile HttpClient httpClient;
+
+    private volatile ExecutorService refreshExecutor;
+
+
+    /**
+     * Creates the provider.
+     *
+     * @param properties the outbound token properties
+     * @throws IllegalStateException if a token endpoint is needed but not configured
+     */
+    public OAuth2TokenProvider(OutboundTokenProperties properties) {
+        this.properties = properties;
+        if (properties.getMode() != OutboundTokenProperties.Mode.FORWARD
+                && (!StringUtils.hasText(properties.getTokenUri()) || !StringUtils.hasText(properties.getClientId()))) {
+            throw new IllegalStateException("nob.core.feign.token.token-uri and client-id must be set in mode " + properties.getMode());
+        }
+    }
+
+
+    /**
+     * Returns the caller's token in {@code FORWARD} mode, an exchanged token for the audience in
+     * {@code TOKEN_EXCHANGE} mode, and otherwise the caller's token, or a client credentials token when
+     * there is no caller.
+     *
+     * @throws ExternalServerException if no valid token is cached and the token endpoint fails
+     */
+    @Override
+    public String getToken(String audience, Jwt caller) {
+        OutboundTokenProperties.Mode mode = properties.getMode();
+        if (mode == OutboundTokenProperties.Mode.FORWARD) return Objects.nonNull(caller) ? caller.getTokenValue() : null;
+        if (Objects.nonNull(caller) && mode == OutboundTokenProperties.Mode.CLIENT_CREDENTIALS) return caller.getTokenValue();
+        TokenKey key = new TokenKey(Objects.toString(audience, ""), Objects.nonNull(caller) ? digest(caller.getTokenValue()) : null);
+        long now = System.nanoTime();
+        CachedToken cached = tokens.get(key);
+        if (Objects.nonNull(cached) && now - cached.expiresAt() < 0) {
+            if (now - cached.refreshAt() >= 0) refresh(key, caller, true);
+            return cached.value();
+        }
+        return await(refresh(key, caller, false)).value();
+    }
+
+
+    /**
+     * Drops all cached tokens, for example after the client credentials changed.
+     */
+    public void evictAll() {
+        tokens.clear();
+    }
+
+
+    /**
+     * Stops the background refresh thread.
+     */
+    @PreDestroy
+    public void stop() {
+        ExecutorService executor = refreshExecutor;
+        if (Objects.nonNull(executor)) executor.shutdownNow();
+    }
+
+
+    private CompletableFuture<CachedToken> refresh(TokenKey key, Jwt caller, boolean background) {
+        CompletableFuture<CachedToken> created = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlight.putIfAbsent(key, created);
+        if (Objects.nonNull(existing)) return existing;
+        Runnable task = () -> {
+            try {
+                CachedToken token = fetch(key, caller);
+                evictIfFull();
+                tokens.put(key, token);
+                created.complete(token);
+            } catch (RuntimeException e) {
+                if (background) postpone(key, e);
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        };
+        if (background) executor().execute(task);
+        else task.run();
+        return created;
+    }
+
+
+    private CachedToken await(CompletableFuture<CachedToken> future) {
+        Duration timeout = properties.getConnectTimeout().plus(properties.getReadTimeout());
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw tokenFailure(e.getCause());
+        } catch (TimeoutException e) {
+            throw tokenFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw tokenFailure(e);
+        }
+    }
+
+
+    private void postpone(TokenKey key, RuntimeException e) {
+        log.warn("Failed to refresh the outbound token for audience '{}': {}", key.audience(), e.getMessage());
+        long retryAt = System.nanoTime() + properties.getRetryInterval().toNanos();
+        tokens.computeIfPresent(key, (k, cached) -> new CachedToken(cached.value(), cached.expiresAt(), retryAt));
+    }
+
+
+    private CachedToken fetch(TokenKey key, Jwt caller) {
+        StringBuilder form = new StringBuilder();
+        if (Objects.nonNull(caller)) {
+            param(form, "grant_type", GRANT_TOKEN_EXCHANGE);
+            param(form, "subject_token", caller.getTokenValue());
+            param(form, "subject_token_type", TOKEN_TYPE_ACCESS_TOKEN);
+        } else {
+            param(form, "grant_type", GRANT_CLIENT_CREDENTIALS);
+        }
+        if (!key.audience().isEmpty()) param(form, properties.getAudienceParameter(), key.audience());
+        if (StringUtils.hasText(properties.getScope())) param(form, "scope", properties.getScope());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(properties.getTokenUri()))
+                .timeout(properties.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        if (properties.getClientAuthentication() == OutboundTokenProperties.ClientAuthentication.BASIC) {
+            String credentials = encode(properties.getClientId()) + ":" + encode(Objects.toString(properties.getClientSecret(), ""));
+            request.header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            param(form, "client_id", properties.getClientId());
+            if (Objects.nonNull(properties.getClientSecret())) param(form, "client_secret", properties.getClientSecret());
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient().send(
+                    request.POST(HttpRequest.BodyPublishers.ofString(form.toString())).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new ExternalServerException("Token request failed", "The token endpoint responded with HTTP " + response.statusCode(), null);
+            }
+            return toCachedToken(OBJECT_MAPPER.readTree(response.body()), caller);
+        } catch (IOException e) {
+            throw tokenFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw tokenFailure(e);
+        }
+    }
+
+
+    private CachedToken toCachedToken(JsonNode body, Jwt caller) {
+        String value = body.path("access_token").asText(null);
+        if (!StringUtils.hasText(value)) {
+            throw new ExternalServerException("Token request failed", "The token response has no access_token", null);
+        }
+        long lifetime = body.hasNonNull("expires_in") ?
+                TimeUnit.SECONDS.toNanos(body.get("expires_in").asLong()) :
+                properties.getDefaultExpiresIn().toNanos();
+        Instant callerExpiry = Objects.nonNull(caller) ? caller.getExpiresAt() : null;
+        if (Objects.nonNull(callerExpiry)) {
+            lifetime = Math.min(lifetime, Duration.between(Instant.now(), callerExpiry).toNanos());
+        }
+        long margin = Math.min(properties.getRefreshBeforeExpiry().toNanos(), lifetime / 2);
+        long now = System.nanoTime();
+        return new CachedToken(value, now + lifetime, now + lifetime - margin);
+    }
+
+
+    private void evictIfFull() {
+        if (tokens.size() < properties.getMaxCachedTokens()) return;
+        long now = System.nanoTime();
+        tokens.values().removeIf(token -> now - token.expiresAt() >= 0);
+        int excess = tokens.size() - properties.getMaxCachedTokens() * 9 / 10;
+        for (TokenKey key : tokens.keySet()) {
+            if (excess-- <= 0) break;
+            tokens.remove(key);
+        }
+    }
+
+
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (Objects.isNull(client)) {
+            synchronized (this) {
+                client = httpClient;
+                if (Objects.isNull(client)) {
+                    client = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+
+    private ExecutorService executor() {
+        ExecutorService executor = refreshExecutor;
+        if (Objects.isNull(executor)) {
+            synchronized (this) {
+                executor = refreshExecutor;
+                if (Objects.isNull(executor)) {
+                    AtomicInteger count = new AtomicInteger();
+                    executor = Executors.newCachedThreadPool(task -> {
+                        Thread thread = new Thread(task, "feign-token-refresh-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    refreshExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+
+    private static ExternalServerException tokenFailure(Throwable cause) {
+        return new ExternalServerException("Token request failed", "The token endpoint could not be reached", null, cause);
+    }
+
+
+    private static void param(StringBuilder form, String name, String value) {
+        if (!form.isEmpty()) form.append('&');
+        form.append(encode(name)).append('=').append(encode(value));
+    }
+
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * The audience of a token and, for exchanged tokens, the SHA-256 digest of the caller's token.
+     */
+    private record TokenKey(String audience, String subjectDigest) {}
+
+
+    private record CachedToken(String value, long expiresAt, long refreshAt) {}
+}
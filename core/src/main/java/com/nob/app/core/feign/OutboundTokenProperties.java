@@ -0,0 +1,98 @@
+package com.nob.app.core.feign;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the tokens sent by Feign clients, bound from {@code nob.core.feign.token}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see OAuth2TokenProvider
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.feign.token")
+public class OutboundTokenProperties {
+
+    /** How outgoing requests are authorized. */
+    private Mode mode = Mode.FORWARD;
+
+    /** The token endpoint of the authorization server; required unless the mode is {@link Mode#FORWARD}. */
+    private String tokenUri;
+
+    /** The client ID of this service. */
+    private String clientId;
+
+    /** The client secret of this service. */
+    private String clientSecret;
+
+    /** How the client authenticates at the token endpoint. */
+    private ClientAuthentication clientAuthentication = ClientAuthentication.BASIC;
+
+    /** The scope requested with each token, if any. */
+    private String scope;
+
+    /** The name of the token request parameter carrying the audience, {@code audience} or {@code resource} (RFC 8707). */
+    private String audienceParameter = "audience";
+
+    /** The audience per Feign client name; clients not listed use their name as audience. */
+    private Map<String, String> audiences = new HashMap<>();
+
+    /** How long before expiry a cached token is refreshed in the background. */
+    private Duration refreshBeforeExpiry = Duration.ofSeconds(30);
+
+    /** The lifetime assumed when the token response has no {@code expires_in}. */
+    private Duration defaultExpiresIn = Duration.ofMinutes(5);
+
+    /** The delay before retrying a failed background refresh while the cached token is still valid. */
+    private Duration retryInterval = Duration.ofSeconds(5);
+
+    /** The connect timeout of token requests. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** The read timeout of token requests. */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** The maximum number of cached tokens; exchanged tokens are cached per caller and audience. */
+    private int maxCachedTokens = 10_000;
+
+
+    /**
+     * How outgoing requests are authorized.
+     */
+    public enum Mode {
+
+        /** Forward the caller's token; requests made without an authenticated caller carry no token. */
+        FORWARD,
+
+        /** Forward the caller's token; requests made without an authenticated caller use a client credentials token. */
+        CLIENT_CREDENTIALS,
+
+        /**
+         * Exchange the caller's token for one issued to the called audience (RFC 8693); requests made
+         * without an authenticated caller use a client credentials token.
+         */
+        TOKEN_EXCHANGE
+    }
+
+
+    /**
+     * How the client authenticates at the token endpoint.
+     */
+    public enum ClientAuthentication {
+
+        /** HTTP Basic authentication ({@code client_secret_basic}). */
+        BASIC,
+
+        /** Credentials in the request body ({@code client_secret_post}). */
+        POST
+    }
+}
@@ -0,0 +1,24 @@
+package com.nob.app.core.feign;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Supplies the bearer token attached to outgoing Feign requests.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see FeignInterceptor
+ * @see OAuth2TokenProvider
+ */
+@FunctionalInterface
+public interface OutboundTokenProvider {
+
+    /**
+     * Returns the access token to send to the given audience.
+     *
+     * @param audience the audience of the called service, or {@code null} if unknown
+     * @param caller   the JWT of the current caller, or {@code null} if there is no authenticated caller
+     * @return the access token value, or {@code null} to send the request without authorization
+     */
+    String getToken(String audience, Jwt caller);
+}
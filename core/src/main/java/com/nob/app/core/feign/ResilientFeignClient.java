@@ -0,0 +1,187 @@
+package com.nob.app.core.feign;
+
+import com.nob.app.core.exception.BadGatewayException;
+import com.nob.app.core.exception.GatewayTimeoutException;
+import com.nob.app.core.exception.ServiceUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Target;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feign {@link Client} that runs the calls of the delegate through the {@link ConcurrencyLimiter} of
+ * the called client and hedges slow GET requests.
+ *
+ * <p>Failures are reported with the application exceptions, which Feign propagates as they are:</p>
+ * <ul>
+ *     <li>{@link ServiceUnavailableException} when the limiter has no free slot, without calling the client;</li>
+ *     <li>{@link GatewayTimeoutException} when the call times out;</li>
+ *     <li>{@link BadGatewayException} when the call fails otherwise, such as a refused connection.</li>
+ * </ul>
+ *
+ * <p>Responses are returned as they are, whatever their status: mapping error responses is left to
+ * the error decoder. Responses with status 429, 503 or 504, as well as timeouts and calls slower than
+ * the latency threshold, lower the limit.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see FeignResilienceCapability
+ */
+public class ResilientFeignClient implements Client {
+
+    private final Client delegate;
+
+    private final FeignResilienceCapability capability;
+
+    private final Executor hedgeExecutor;
+
+
+    /**
+     * Creates a client wrapping the given one.
+     *
+     * @param delegate      the client performing the calls
+     * @param capability    the capability holding the limiters per client
+     * @param hedgeExecutor the executor running hedged attempts
+     */
+    public ResilientFeignClient(Client delegate, FeignResilienceCapability capability, Executor hedgeExecutor) {
+        this.delegate = delegate;
+        this.capability = capability;
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String client = clientName(request);
+        FeignResilienceProperties.Policy policy = capability.policyFor(client);
+        ConcurrencyLimiter limiter = capability.limiter(client);
+        if (policy.isHedge() && request.httpMethod() == Request.HttpMethod.GET) {
+            return executeHedged(client, limiter, policy, request, options);
+        }
+        acquire(client, limiter);
+        return call(client, limiter, request, options);
+    }
+
+
+    private Response executeHedged(String client, ConcurrencyLimiter limiter, FeignResilienceProperties.Policy policy, Request request, Request.Options options) throws IOException {
+        limiter.countRequest();
+        acquire(client, limiter);
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        submit(client, limiter, request, options, result, pending);
+        try {
+            return result.get(policy.getHedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (limiter.tryHedge()) {
+                pending.incrementAndGet();
+                capability.countHedge(client);
+                submit(client, limiter, request, options, result, pending);
+            }
+            return await(result);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + client);
+        }
+    }
+
+
+    private void submit(String client, ConcurrencyLimiter limiter, Request request, Request.Options options, CompletableFuture<Response> result, AtomicInteger pending) {
+        try {
+            hedgeExecutor.execute(() -> {
+                try {
+                    Response response = call(client, limiter, request, options);
+                    if (!result.complete(response)) response.close();
+                } catch (Throwable e) {
+                    if (pending.decrementAndGet() == 0) result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            limiter.release(false);
+            if (pending.decrementAndGet() == 0) result.completeExceptionally(e);
+        }
+    }
+
+
+    private Response await(CompletableFuture<Response> result) throws IOException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response");
+        }
+    }
+
+
+    private Response call(String client, ConcurrencyLimiter limiter, Request request, Request.Options options) {
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            Response response = delegate.execute(request, options);
+            dropped = isOverloaded(response.status()) || limiter.isSlow(System.nanoTime() - start);
+            return response;
+        } catch (SocketTimeoutException | HttpTimeoutException e) {
+            throw new GatewayTimeoutException("Downstream timeout", "The call to " + client + " timed out", null, e);
+        } catch (IOException e) {
+            throw new BadGatewayException("Downstream failure", "The call to " + client + " failed: " + e.getMessage(), null, e);
+        } catch (RuntimeException e) {
+            dropped = false;
+            throw e;
+        } finally {
+            limiter.release(dropped);
+        }
+    }
+
+
+    private void acquire(String client, ConcurrencyLimiter limiter) throws InterruptedIOException {
+        boolean acquired;
+        try {
+            acquired = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to call " + client);
+        }
+        if (acquired) return;
+        capability.countRejection(client);
+        throw new ServiceUnavailableException(
+                "Too many concurrent calls",
+                "The concurrency limit of " + limiter.getLimit() + " calls to " + client + " is reached");
+    }
+
+
+    private static boolean isOverloaded(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+
+
+    private static String clientName(Request request) {
+        Target<?> target = Objects.nonNull(request.requestTemplate()) ? request.requestTemplate().feignTarget() : null;
+        if (Objects.nonNull(target) && Objects.nonNull(target.name())) return target.name();
+        return URI.create(request.url()).getHost();
+    }
+
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) throw runtime;
+        if (cause instanceof Error error) throw error;
+        if (cause instanceof IOException io) return io;
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,211 @@
+package com.nob.app.core.feign;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.exception.ApplicationException;
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.BadGatewayException;
+import com.nob.app.core.exception.BusinessRuleViolationException;
+import com.nob.app.core.exception.ConflictException;
+import com.nob.app.core.exception.ExternalServerException;
+import com.nob.app.core.exception.ForbiddenException;
+import com.nob.app.core.exception.GatewayTimeoutException;
+import com.nob.app.core.exception.InternalServerException;
+import com.nob.app.core.exception.InvalidDataException;
+import com.nob.app.core.exception.InvalidRequestException;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import com.nob.app.core.exception.ServiceUnavailableException;
+import com.nob.app.core.exception.UnauthorizedException;
+import com.nob.app.core.exception.ValidationException;
+import com.nob.app.core.model.RawJson;
+import com.nob.app.core.model.Response;
+import feign.codec.ErrorDecoder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Feign {@link ErrorDecoder} turning the error {@link Response} envelopes of downstream services built
+ * on this base back into the matching {@link ApplicationException}.
+ *
+ * <p>Registered as the default Feign error decoder when {@code nob.core.feign.error-decoder.enabled} is
+ * set; otherwise clients keep the error decoder they are configured with.</p>
+ *
+ * <p>The body is read once and its fields are streamed with a Jackson parser, without binding the
+ * envelope or its {@code data}. The envelope's {@code code} selects the {@link ApplicationStatus}
+ * and exception subclass, such as {@link ResourceNotFoundException} for {@code RESOURCE_NOT_FOUND};
+ * {@code message} and {@code description} are kept, and {@code data} becomes the exception detail as a
+ * {@link RawJson} slice of the body, so rethrowing the exception answers with the same envelope.</p>
+ *
+ * <p>Bodies that are not an envelope with a known error code, such as the error page of a proxy, or
+ * that are larger than 64 KiB, are decoded by Feign's default decoder into a {@code FeignException} or,
+ * given {@code Retry-After}, a {@code RetryableException}. The default decoder is handed the complete
+ * body: the bytes already read followed by the rest of the stream.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.feign.error-decoder", name = "enabled", havingValue = "true")
+public class ResponseEnvelopeErrorDecoder implements ErrorDecoder {
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private static final Map<ApplicationStatus, ExceptionFactory> FACTORIES = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        FACTORIES.put(ApplicationStatus.INVALID_REQUEST, InvalidRequestException::new);
+        FACTORIES.put(ApplicationStatus.VALIDATION_ERROR, ValidationException::new);
+        FACTORIES.put(ApplicationStatus.INVALID_DATA, InvalidDataException::new);
+        FACTORIES.put(ApplicationStatus.UNAUTHORIZED, UnauthorizedException::new);
+        FACTORIES.put(ApplicationStatus.FORBIDDEN, ForbiddenException::new);
+        FACTORIES.put(ApplicationStatus.RESOURCE_NOT_FOUND, ResourceNotFoundException::new);
+        FACTORIES.put(ApplicationStatus.CONFLICT_ERROR, ConflictException::new);
+        FACTORIES.put(ApplicationStatus.INTERNAL_SERVER_ERROR, InternalServerException::new);
+        FACTORIES.put(ApplicationStatus.EXTERNAL_SERVER_ERROR, ExternalServerException::new);
+        FACTORIES.put(ApplicationStatus.SERVICE_UNAVAILABLE, ServiceUnavailableException::new);
+        FACTORIES.put(ApplicationStatus.BAD_GATEWAY, BadGatewayException::new);
+        FACTORIES.put(ApplicationStatus.GATEWAY_TIMEOUT, GatewayTimeoutException::new);
+        FACTORIES.put(ApplicationStatus.BUSINESS_RULE_VIOLATION, BusinessRuleViolationException::new);
+    }
+
+    private final ErrorDecoder fallback = new ErrorDecoder.Default();
+
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Creates the decoder for the application object mapper.
+     *
+     * @param objectMapper the application object mapper, which also parses the {@link RawJson} details
+     */
+    public ResponseEnvelopeErrorDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * Decodes an error response into the matching {@link ApplicationException}.
+     *
+     * @param methodKey the Feign method key
+     * @param response  the error response
+     * @return the exception to throw
+     */
+    @Override
+    public Exception decode(String methodKey, feign.Response response) {
+        if (Objects.isNull(response.body())) return fallback.decode(methodKey, response);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        InputStream in = null;
+        boolean handedOver = false;
+        try {
+            in = response.body().asInputStream();
+            if (!readAtMost(in, read, MAX_BODY_BYTES)) {
+                InputStream body = new SequenceInputStream(new ByteArrayInputStream(read.toByteArray()), in);
+                handedOver = true;
+                return fallback.decode(methodKey, response.toBuilder().body(body, response.body().length()).build());
+            }
+        } catch (IOException e) {
+            return fallback.decode(methodKey, response.toBuilder().body(read.toByteArray()).build());
+        } finally {
+            if (!handedOver) closeQuietly(in);
+        }
+        byte[] body = read.toByteArray();
+        ApplicationException exception = parse(body);
+        if (Objects.nonNull(exception)) return exception;
+        return fallback.decode(methodKey, response.toBuilder().body(body).build());
+    }
+
+
+    private static boolean readAtMost(InputStream in, ByteArrayOutputStream out, int max) throws IOException {
+        byte[] chunk = new byte[8192];
+        while (out.size() <= max) {
+            int count = in.read(chunk, 0, Math.min(chunk.length, max + 1 - out.size()));
+            if (count < 0) return true;
+            out.write(chunk, 0, count);
+        }
+        return false;
+    }
+
+
+    private static void closeQuietly(InputStream in) {
+        if (Objects.isNull(in)) return;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // the body has been read or is unreadable, nothing is lost
+        }
+    }
+
+
+    private ApplicationException parse(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            return parseEnvelope(parser, body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+
+    private ApplicationException parseEnvelope(JsonParser parser, byte[] body) throws IOException {
+        String code = null;
+        String message = null;
+        String description = null;
+        RawJson data = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "code" -> code = text(parser, value);
+                case "message" -> message = text(parser, value);
+                case "description" -> description = text(parser, value);
+                case "data" -> data = raw(parser, value, body);
+                case "body" -> {
+                    if (value != JsonToken.START_OBJECT) break;
+                    ApplicationException nested = parseEnvelope(parser, body);
+                    if (Objects.nonNull(nested)) return nested;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        ApplicationStatus status = ApplicationStatus.fromCode(code);
+        ExceptionFactory factory = Objects.nonNull(status) ? FACTORIES.get(status) : null;
+        if (Objects.isNull(factory)) return null;
+        return factory.create(
+                Objects.nonNull(message) ? message : status.getMessage(),
+                Objects.nonNull(description) ? description : status.getDescription(),
+                data);
+    }
+
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) return parser.getText();
+        parser.skipChildren();
+        return null;
+    }
+
+
+    private RawJson raw(JsonParser parser, JsonToken value, byte[] body) throws IOException {
+        if (value == JsonToken.VALUE_NULL) return null;
+        int start = (int) parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        parser.finishToken();
+        int end = (int) parser.currentLocation().getByteOffset();
+        return new RawJson(body, start, end - start, objectMapper);
+    }
+
+
+    @FunctionalInterface
+    private interface ExceptionFactory {
+        ApplicationException create(String message, String description, Object detail);
+    }
+}
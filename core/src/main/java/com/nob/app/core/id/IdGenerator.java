@@ -0,0 +1,32 @@
+package com.nob.app.core.id;
+
+/**
+ * Service provider interface for the request and trace IDs assigned to requests that do not carry them.
+ *
+ * <p>Implementations are called on the request thread for every such request, so they should be
+ * cheap and must be thread-safe. Declare an {@code IdGenerator} bean to replace the generator selected
+ * by {@link IdGeneratorProperties}.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see IdGenerators
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates a new request ID.
+     *
+     * @return a new request ID
+     */
+    String nextRequestId();
+
+
+    /**
+     * Generates a new trace ID. Defaults to the request ID format.
+     *
+     * @return a new trace ID
+     */
+    default String nextTraceId() {
+        return nextRequestId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.nob.app.core.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Request and trace ID generation settings, bound from {@code nob.core.id}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.id")
+public class IdGeneratorProperties {
+
+    /** The built-in generator used when no {@link IdGenerator} bean is declared. */
+    private Type type = Type.ULID;
+
+
+    /**
+     * Built-in ID generators.
+     */
+    public enum Type {
+
+        /** Monotonic ULIDs, see {@link UlidIdGenerator}. */
+        ULID,
+
+        /** W3C Trace Context compatible hex IDs, see {@link W3cIdGenerator}. */
+        W3C,
+
+        /** Random UUIDs, see {@link UuidIdGenerator}. */
+        UUID
+    }
+}
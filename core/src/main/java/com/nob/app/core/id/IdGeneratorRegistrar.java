@@ -0,0 +1,56 @@
+package com.nob.app.core.id;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects the {@link IdGenerator} at startup and publishes it through {@link IdGenerators}.
+ *
+ * <p>An {@code IdGenerator} bean takes precedence; otherwise the built-in generator configured by
+ * {@link IdGeneratorProperties#getType()} is used.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class IdGeneratorRegistrar {
+
+    private final IdGenerator generator;
+
+
+    /**
+     * Creates the registrar and publishes the selected generator.
+     *
+     * @param properties the ID generation properties
+     * @param generator  the optional custom generator
+     */
+    public IdGeneratorRegistrar(IdGeneratorProperties properties, ObjectProvider<IdGenerator> generator) {
+        this.generator = generator.getIfAvailable(() -> create(properties.getType()));
+        IdGenerators.set(this.generator);
+    }
+
+
+    /**
+     * Returns the selected generator.
+     *
+     * @return the active {@link IdGenerator}
+     */
+    public IdGenerator getGenerator() {
+        return generator;
+    }
+
+
+    /**
+     * Creates the built-in generator of the given type.
+     *
+     * @param type the generator type
+     * @return a new generator
+     */
+    public static IdGenerator create(IdGeneratorProperties.Type type) {
+        return switch (type) {
+            case ULID -> new UlidIdGenerator();
+            case W3C -> new W3cIdGenerator();
+            case UUID -> new UuidIdGenerator();
+        };
+    }
+}
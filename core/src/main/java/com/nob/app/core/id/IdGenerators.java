@@ -0,0 +1,61 @@
+package com.nob.app.core.id;
+
+import java.util.Objects;
+
+/**
+ * Static access point to the active {@link IdGenerator}.
+ *
+ * <p>Request IDs are generated from static factories such as
+ * {@link com.nob.app.core.model.ServiceHeader#of}, so the generator selected at startup by
+ * {@link IdGeneratorRegistrar} is published here. Until then, the {@link UlidIdGenerator} is used.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator generator = new UlidIdGenerator();
+
+
+    private IdGenerators() {}
+
+
+    /**
+     * Returns the active generator.
+     *
+     * @return the active {@link IdGenerator}
+     */
+    public static IdGenerator get() {
+        return generator;
+    }
+
+
+    /**
+     * Replaces the active generator.
+     *
+     * @param generator the generator to use from now on
+     */
+    public static void set(IdGenerator generator) {
+        IdGenerators.generator = Objects.requireNonNull(generator, "generator");
+    }
+
+
+    /**
+     * Generates a new request ID with the active generator.
+     *
+     * @return a new request ID
+     */
+    public static String nextRequestId() {
+        return generator.nextRequestId();
+    }
+
+
+    /**
+     * Generates a new trace ID with the active generator.
+     *
+     * @return a new trace ID
+     */
+    public static String nextTraceId() {
+        return generator.nextTraceId();
+    }
+}
@@ -0,0 +1,77 @@
+package com.nob.app.core.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates monotonic <a href="https://github.com/ulid/spec">ULID</a>s: a 48-bit millisecond
+ * timestamp followed by 80 random bits, encoded as 26 Crockford base32 characters.
+ *
+ * <p>Each thread keeps its own state, so generation takes no locks. The random part is drawn from
+ * {@link ThreadLocalRandom} when the millisecond changes and incremented for further IDs within the
+ * same millisecond (or when the clock moves backwards), so the IDs of one thread sort in generation
+ * order. IDs are unique with overwhelming probability but are not secret; do not use them as tokens.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class UlidIdGenerator implements IdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+
+    @Override
+    public String nextRequestId() {
+        return state.get().next();
+    }
+
+
+    private static final class State {
+
+        private final char[] buffer = new char[26];
+
+        private long lastMillis = -1;
+
+        private long randomHigh;
+
+        private long randomLow;
+
+
+        String next() {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                lastMillis = now;
+                randomHigh = random.nextLong() & RANDOM_HIGH_MASK;
+                randomLow = random.nextLong();
+            } else if (++randomLow == 0) {
+                randomHigh = (randomHigh + 1) & RANDOM_HIGH_MASK;
+                if (randomHigh == 0) lastMillis++;
+            }
+            return encode();
+        }
+
+
+        private String encode() {
+            long time = lastMillis;
+            for (int i = 9; i >= 0; i--) {
+                buffer[i] = ALPHABET[(int) (time & 31)];
+                time >>>= 5;
+            }
+            long low = randomLow;
+            for (int i = 25; i >= 14; i--) {
+                buffer[i] = ALPHABET[(int) (low & 31)];
+                low >>>= 5;
+            }
+            long high = (randomHigh << 4) | (randomLow >>> 60);
+            for (int i = 13; i >= 10; i--) {
+                buffer[i] = ALPHABET[(int) (high & 31)];
+                high >>>= 5;
+            }
+            return new String(buffer);
+        }
+    }
+}
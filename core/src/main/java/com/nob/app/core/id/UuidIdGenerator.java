@@ -0,0 +1,21 @@
+package com.nob.app.core.id;
+
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs, the ID format used before the generator was made pluggable.
+ *
+ * <p>{@link UUID#randomUUID()} draws from a shared {@link java.security.SecureRandom}, which contends
+ * under load and may block on hosts with little entropy. Prefer {@link UlidIdGenerator} unless
+ * downstream systems expect UUIDs.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class UuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextRequestId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nob.app.core.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates IDs in the formats of the <a href="https://www.w3.org/TR/trace-context/">W3C Trace Context</a>
+ * {@code traceparent} header: 32 lowercase hex characters for trace IDs and 16 for request IDs,
+ * the size of a parent (span) ID. Both are random and never all zeros, as the specification requires.
+ *
+ * <p>Random bits are drawn from {@link ThreadLocalRandom}, so generation takes no locks. The IDs are
+ * not secret; do not use them as tokens.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class W3cIdGenerator implements IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+
+    @Override
+    public String nextRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+        char[] buffer = new char[16];
+        writeHex(id, buffer, 0);
+        return new String(buffer);
+    }
+
+
+    @Override
+    public String nextTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+        char[] buffer = new char[32];
+        writeHex(high, buffer, 0);
+        writeHex(low, buffer, 16);
+        return new String(buffer);
+    }
+
+
+    private static void writeHex(long value, char[] buffer, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 15)];
+            value >>>= 4;
+        }
+    }
+}
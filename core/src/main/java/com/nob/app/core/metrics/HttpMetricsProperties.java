@@ -0,0 +1,41 @@
+package com.nob.app.core.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route HTTP server metrics settings, bound from {@code nob.core.metrics.http}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.metrics.http")
+public class HttpMetricsProperties {
+
+    /** Whether per-route latency, status and in-flight metrics are recorded. */
+    private boolean enabled = true;
+
+    /** Whether latency histogram buckets are published, allowing percentiles to be aggregated across instances. */
+    private boolean percentileHistogram = true;
+
+    /** Latency percentiles computed in the application, such as {@code 0.5} or {@code 0.99}; not aggregable. */
+    private List<Double> percentiles = new ArrayList<>();
+
+    /** The lowest latency the histogram buckets distinguish. */
+    private Duration minimumExpectedValue = Duration.ofMillis(1);
+
+    /** The highest latency the histogram buckets distinguish. */
+    private Duration maximumExpectedValue = Duration.ofSeconds(30);
+
+    /** The maximum number of distinct routes tagged; further routes are recorded as {@code OTHER}. */
+    private int maxRoutes = 500;
+}
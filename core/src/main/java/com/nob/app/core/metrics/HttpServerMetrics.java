@@ -0,0 +1,187 @@
+package com.nob.app.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-route HTTP server metrics, recorded by the monitoring interceptor and published to Micrometer.
+ *
+ * <p>For every route (the best matching request mapping pattern) and HTTP method, the following
+ * meters are registered on first use:</p>
+ * <ul>
+ *     <li>{@value #REQUESTS}: a latency timer with histogram buckets</li>
+ *     <li>{@value #RESPONSES}: a counter per response status, also tagged with the status outcome</li>
+ *     <li>{@value #ACTIVE}: a gauge of the requests in flight</li>
+ * </ul>
+ *
+ * <p>Meters are resolved once per route and cached, so recording only looks up two maps and updates
+ * the meters, which record without locking. Requests that matched no route are tagged
+ * {@value #UNMATCHED}, and routes beyond {@code max-routes} are tagged {@value #OTHER} to bound
+ * the number of time series. The {@code MeterRegistry} bean is used when one is declared, as it is
+ * with Spring Boot Actuator; otherwise meters go to the Micrometer global registry.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+public class HttpServerMetrics {
+
+    /** The latency timer name. */
+    public static final String REQUESTS = "nob.http.server.requests";
+
+    /** The response status counter name. */
+    public static final String RESPONSES = "nob.http.server.responses";
+
+    /** The in-flight requests gauge name. */
+    public static final String ACTIVE = "nob.http.server.active";
+
+    /** The route tag of requests that matched no request mapping. */
+    public static final String UNMATCHED = "UNMATCHED";
+
+    /** The route tag of requests beyond the route limit. */
+    public static final String OTHER = "OTHER";
+
+    private static final int MAX_STATUS = 600;
+
+    private final HttpMetricsProperties properties;
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Map<String, Route>> routes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger routeCount = new AtomicInteger();
+
+
+    /**
+     * Creates the metrics, using the {@link MeterRegistry} bean if one is declared.
+     *
+     * @param properties the HTTP metrics properties
+     * @param registry   the optional meter registry
+     */
+    public HttpServerMetrics(HttpMetricsProperties properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+
+    /**
+     * Records the start of a request.
+     *
+     * @param route  the best matching request mapping pattern, or {@code null} if none matched
+     * @param method the HTTP method
+     * @return the sample to stop when the request completes, or {@code null} if metrics are disabled
+     */
+    public Sample start(String route, String method) {
+        if (!properties.isEnabled()) return null;
+        Route metrics = route(Objects.nonNull(route) ? route : UNMATCHED, method);
+        metrics.active.incrementAndGet();
+        return new Sample(metrics, System.nanoTime());
+    }
+
+
+    private Route route(String route, String method) {
+        Map<String, Route> byMethod = routes.get(route);
+        if (Objects.isNull(byMethod)) {
+            if (routeCount.get() >= properties.getMaxRoutes() && !UNMATCHED.equals(route)) route = OTHER;
+            byMethod = routes.computeIfAbsent(route, key -> {
+                routeCount.incrementAndGet();
+                return new ConcurrentHashMap<>();
+            });
+        }
+        Route metrics = byMethod.get(method);
+        if (Objects.nonNull(metrics)) return metrics;
+        String tag = route;
+        return byMethod.computeIfAbsent(method, key -> new Route(tag, key));
+    }
+
+
+    /**
+     * The meters of one route and method.
+     */
+    private final class Route {
+
+        private final Tags tags;
+
+        private final Timer latency;
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicReferenceArray<Counter> responses = new AtomicReferenceArray<>(MAX_STATUS);
+
+
+        private Route(String route, String method) {
+            this.tags = Tags.of("route", route, "method", method);
+            this.latency = Timer.builder(REQUESTS)
+                    .description("Latency of HTTP requests per route")
+                    .tags(tags)
+                    .publishPercentileHistogram(properties.isPercentileHistogram())
+                    .publishPercentiles(properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray())
+                    .minimumExpectedValue(properties.getMinimumExpectedValue())
+                    .maximumExpectedValue(properties.getMaximumExpectedValue())
+                    .register(registry);
+            Gauge.builder(ACTIVE, active, AtomicInteger::get)
+                    .description("HTTP requests in flight per route")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+
+        private void record(int status, long durationNanos) {
+            active.decrementAndGet();
+            latency.record(durationNanos, TimeUnit.NANOSECONDS);
+            int index = status > 0 && status < MAX_STATUS ? status : 0;
+            Counter counter = responses.get(index);
+            if (Objects.isNull(counter)) {
+                counter = Counter.builder(RESPONSES)
+                        .description("HTTP responses per route and status")
+                        .tags(tags)
+                        .tag("status", index > 0 ? Integer.toString(status) : "UNKNOWN")
+                        .tag("outcome", Outcome.forStatus(status).name())
+                        .register(registry);
+                responses.set(index, counter);
+            }
+            counter.increment();
+        }
+    }
+
+
+    /**
+     * An in-flight request, started by {@link #start} and stopped once it completes.
+     */
+    public static final class Sample {
+
+        private final Route route;
+
+        private final long startNanos;
+
+
+        private Sample(Route route, long startNanos) {
+            this.route = route;
+            this.startNanos = startNanos;
+        }
+
+
+        /**
+         * Records the completion of the request.
+         *
+         * @param status the HTTP status returned to the client
+         */
+        public void stop(int status) {
+            route.record(status, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.nob.app.core.model;
 
 import lombok.Data;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
@@ -36,4 +38,46 @@ public class AuthenticatedUser {
      */
     private Map<String, Object> attributes;
 
+
+    /**
+     * Returns a read-only copy of the given user, whose setters throw {@link UnsupportedOperationException}
+     * and whose collections cannot be modified. Used for views shared by every caller of a request.
+     *
+     * @param source the user to copy
+     * @return the read-only copy
+     */
+    public static AuthenticatedUser readOnly(AuthenticatedUser source) {
+        return new ReadOnly(source);
+    }
+
+
+    private static final class ReadOnly extends AuthenticatedUser {
+
+        private ReadOnly(AuthenticatedUser source) {
+            super.setId(source.getId());
+            super.setUsername(source.getUsername());
+            super.setRoles(Objects.nonNull(source.getRoles()) ? Collections.unmodifiableList(source.getRoles()) : null);
+            super.setAttributes(Objects.nonNull(source.getAttributes()) ? Collections.unmodifiableMap(source.getAttributes()) : null);
+        }
+
+        @Override
+        public void setId(String id) {
+            throw new UnsupportedOperationException("AuthenticatedUser is read-only");
+        }
+
+        @Override
+        public void setUsername(String username) {
+            throw new UnsupportedOperationException("AuthenticatedUser is read-only");
+        }
+
+        @Override
+        public void setRoles(List<String> roles) {
+            throw new UnsupportedOperationException("AuthenticatedUser is read-only");
+        }
+
+        @Override
+        public void setAttributes(Map<String, Object> attributes) {
+            throw new UnsupportedOperationException("AuthenticatedUser is read-only");
+        }
+    }
 }
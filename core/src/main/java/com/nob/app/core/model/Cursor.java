@@ -0,0 +1,199 @@
+package com.nob.app.core.model;
+
+import com.nob.app.core.exception.InvalidRequestException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A position in a result set ordered by a unique key, for keyset (cursor) pagination.
+ *
+ * <p>The cursor holds the sort key values of the row next to the requested page, such as
+ * {@code (createdAt, id)} of the last row of the previous page, and whether the page lies after or
+ * before that row. A page is then fetched with a seek predicate on those values, such as
+ * {@code WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT ?}, which an index on the sort
+ * key answers at the same cost for the first and the thousandth page.</p>
+ *
+ * <p>Cursors travel to clients as opaque, signed strings produced by the {@link CursorCodec}. Key values
+ * are {@link Long}s (other integral numbers are widened), {@link String}s, {@link Instant}s,
+ * {@link UUID}s, {@link Boolean}s or {@code null}. Reading a key that is missing or of another type
+ * than expected, as for a cursor issued by another listing, fails with an {@link InvalidRequestException}
+ * rather than a server error.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class Cursor {
+
+    private final Direction direction;
+
+    private final List<Object> keys;
+
+
+    private Cursor(Direction direction, Object[] keys) {
+        this.direction = Objects.requireNonNull(direction, "direction");
+        Object[] normalized = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) normalized[i] = normalize(keys[i]);
+        this.keys = Collections.unmodifiableList(Arrays.asList(normalized));
+    }
+
+
+    /**
+     * Creates a cursor for the page following the row with the given sort key values.
+     *
+     * @param keys the sort key values of the row
+     * @return a new cursor
+     */
+    public static Cursor after(Object... keys) {
+        return new Cursor(Direction.AFTER, keys);
+    }
+
+
+    /**
+     * Creates a cursor for the page preceding the row with the given sort key values.
+     *
+     * @param keys the sort key values of the row
+     * @return a new cursor
+     */
+    public static Cursor before(Object... keys) {
+        return new Cursor(Direction.BEFORE, keys);
+    }
+
+
+    /**
+     * Returns whether the page lies after or before the row of this cursor.
+     *
+     * @return the direction
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+
+    /**
+     * Returns the sort key values.
+     *
+     * @return an unmodifiable list of the key values
+     */
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+
+    /**
+     * Returns the key value at the given position.
+     *
+     * @param index the position of the key
+     * @return the key value, may be {@code null}
+     * @throws InvalidRequestException if the cursor has no key at the position
+     */
+    public Object get(int index) {
+        return get(index, Object.class);
+    }
+
+
+    /**
+     * Returns the key value at the given position as a long.
+     *
+     * @param index the position of the key
+     * @return the key value, may be {@code null}
+     * @throws InvalidRequestException if the key is missing or not a number
+     */
+    public Long getLong(int index) {
+        return get(index, Long.class);
+    }
+
+
+    /**
+     * Returns the key value at the given position as a string.
+     *
+     * @param index the position of the key
+     * @return the key value, may be {@code null}
+     * @throws InvalidRequestException if the key is missing or not a string
+     */
+    public String getString(int index) {
+        return get(index, String.class);
+    }
+
+
+    /**
+     * Returns the key value at the given position as an instant.
+     *
+     * @param index the position of the key
+     * @return the key value, may be {@code null}
+     * @throws InvalidRequestException if the key is missing or not an instant
+     */
+    public Instant getInstant(int index) {
+        return get(index, Instant.class);
+    }
+
+
+    /**
+     * Returns the key value at the given position as a UUID.
+     *
+     * @param index the position of the key
+     * @return the key value, may be {@code null}
+     * @throws InvalidRequestException if the key is missing or not a UUID
+     */
+    public UUID getUuid(int index) {
+        return get(index, UUID.class);
+    }
+
+
+    private <K> K get(int index, Class<K> type) {
+        if (index < 0 || index >= keys.size()) throw mismatch();
+        Object key = keys.get(index);
+        if (Objects.nonNull(key) && !type.isInstance(key)) throw mismatch();
+        return type.cast(key);
+    }
+
+
+    private static InvalidRequestException mismatch() {
+        return new InvalidRequestException("Invalid cursor", "The pagination cursor does not match the keys of this listing");
+    }
+
+
+    private static Object normalize(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) return ((Number) key).longValue();
+        if (Objects.isNull(key) || key instanceof Long || key instanceof String || key instanceof Instant
+                || key instanceof UUID || key instanceof Boolean) {
+            return key;
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type: " + key.getClass().getName());
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Cursor cursor && direction == cursor.direction && keys.equals(cursor.keys);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(direction, keys);
+    }
+
+
+    @Override
+    public String toString() {
+        return "Cursor{" + direction + " " + keys + "}";
+    }
+
+
+    /**
+     * Where the requested page lies relative to the row of the cursor.
+     */
+    public enum Direction {
+
+        /** The page follows the row, in sort order. */
+        AFTER,
+
+        /** The page precedes the row, in sort order. */
+        BEFORE
+    }
+}
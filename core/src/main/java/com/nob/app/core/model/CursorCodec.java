@@ -0,0 +1,334 @@
+package com.nob.app.core.model;
+
+import com.nob.app.core.exception.InvalidRequestException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Encodes {@link Cursor}s to opaque, signed, URL-safe strings and decodes them back.
+ *
+ * <p>A cursor is written in a compact binary form: a header byte holding the format version, the
+ * direction and whether an expiry follows, the optional expiry in epoch seconds, then every key as a
+ * type tag and its value, with numbers as zigzag varints, strings as length-prefixed UTF-8 and UUIDs as
+ * 16 bytes. The form is signed with HMAC-SHA256 truncated to 96 bits and the whole is Base64url encoded
+ * without padding, so a cursor over {@code (createdAt, id)} takes fewer than 40 characters.</p>
+ *
+ * <p>A cursor can be bound to a scope, such as the endpoint that issued it: the scope is signed along
+ * with the cursor but not written into it, so the cursor only decodes with the same scope. This keeps a
+ * client from replaying the cursor of one listing against another one, whose keys differ.</p>
+ *
+ * <p>Clients cannot read or forge cursors: a cursor that is malformed, was signed with another secret,
+ * was altered, belongs to another scope or has expired is rejected with an {@link InvalidRequestException}. Cursors are not
+ * encrypted, so keys must not hold confidential values.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class CursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int VERSION = 1;
+
+    private static final int SIGNATURE_LENGTH = 12;
+
+    private static final int DIRECTION_BEFORE = 0x10;
+
+    private static final int EXPIRES = 0x20;
+
+    private static final int TAG_NULL = 0;
+
+    private static final int TAG_LONG = 1;
+
+    private static final int TAG_STRING = 2;
+
+    private static final int TAG_INSTANT = 3;
+
+    private static final int TAG_UUID = 4;
+
+    private static final int TAG_TRUE = 5;
+
+    private static final int TAG_FALSE = 6;
+
+    private static final int MAX_LENGTH = 1024;
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Mac> macs;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+
+    /**
+     * Creates a codec whose cursors never expire.
+     *
+     * @param secret the signing secret, at least 32 bytes
+     */
+    public CursorCodec(byte[] secret) {
+        this(secret, null, Clock.systemUTC());
+    }
+
+
+    /**
+     * Creates a codec.
+     *
+     * @param secret the signing secret, at least 32 bytes
+     * @param ttl    how long cursors stay valid, or {@code null} if they never expire
+     * @param clock  the clock of the expiry
+     */
+    public CursorCodec(byte[] secret, Duration ttl, Clock clock) {
+        if (Objects.isNull(secret) || secret.length < 32) throw new IllegalArgumentException("secret must be at least 32 bytes");
+        if (Objects.nonNull(ttl) && (ttl.isNegative() || ttl.isZero())) throw new IllegalArgumentException("ttl must be positive");
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttl = ttl;
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+
+    /**
+     * Encodes a cursor without a scope.
+     *
+     * @param cursor the cursor
+     * @return the opaque cursor string
+     */
+    public String encode(Cursor cursor) {
+        return encode(cursor, null);
+    }
+
+
+    /**
+     * Encodes a cursor bound to a scope.
+     *
+     * @param cursor the cursor
+     * @param scope  the scope the cursor is valid in, or {@code null} for none
+     * @return the opaque cursor string
+     */
+    public String encode(Cursor cursor, String scope) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        int header = VERSION;
+        if (cursor.getDirection() == Cursor.Direction.BEFORE) header |= DIRECTION_BEFORE;
+        if (Objects.nonNull(ttl)) header |= EXPIRES;
+        out.write(header);
+        if (Objects.nonNull(ttl)) writeVarLong(out, clock.instant().plus(ttl).getEpochSecond());
+        for (Object value : cursor.getKeys()) writeKey(out, value);
+        int length = out.size();
+        byte[] buffer = Arrays.copyOf(out.toByteArray(), length + SIGNATURE_LENGTH);
+        System.arraycopy(sign(buffer, length, scope), 0, buffer, length, SIGNATURE_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer);
+    }
+
+
+    /**
+     * Decodes and verifies a cursor encoded without a scope.
+     *
+     * @param token the opaque cursor string
+     * @return the cursor
+     * @throws InvalidRequestException if the cursor is malformed, altered, scoped or expired
+     */
+    public Cursor decode(String token) {
+        return decode(token, null);
+    }
+
+
+    /**
+     * Decodes and verifies a cursor encoded with the given scope.
+     *
+     * @param token the opaque cursor string
+     * @param scope the scope the cursor was encoded with, or {@code null} for none
+     * @return the cursor
+     * @throws InvalidRequestException if the cursor is malformed, altered, of another scope or expired
+     */
+    public Cursor decode(String token, String scope) {
+        if (Objects.isNull(token) || token.isEmpty() || token.length() > MAX_LENGTH) throw invalid();
+        byte[] buffer;
+        try {
+            buffer = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        int length = buffer.length - SIGNATURE_LENGTH;
+        if (length < 1) throw invalid();
+        byte[] signature = Arrays.copyOfRange(buffer, length, buffer.length);
+        if (!MessageDigest.isEqual(signature, sign(buffer, length, scope))) throw invalid();
+
+        Reader reader = new Reader(buffer, length);
+        int header = reader.read();
+        if ((header & 0x0F) != VERSION || (header & ~(0x0F | DIRECTION_BEFORE | EXPIRES)) != 0) throw invalid();
+        if ((header & EXPIRES) != 0 && reader.readVarLong() < clock.instant().getEpochSecond()) {
+            throw new InvalidRequestException("Invalid cursor", "The pagination cursor has expired");
+        }
+        Object[] keys = new Object[reader.countKeys()];
+        for (int i = 0; i < keys.length; i++) keys[i] = reader.readKey();
+        return (header & DIRECTION_BEFORE) != 0 ? Cursor.before(keys) : Cursor.after(keys);
+    }
+
+
+    private static void writeKey(ByteArrayOutputStream out, Object value) {
+        if (Objects.isNull(value)) {
+            out.write(TAG_NULL);
+        } else if (value instanceof Long number) {
+            out.write(TAG_LONG);
+            writeVarLong(out, number);
+        } else if (value instanceof String string) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.write(TAG_STRING);
+            writeVarLong(out, bytes.length);
+            out.writeBytes(bytes);
+        } else if (value instanceof Instant instant) {
+            out.write(TAG_INSTANT);
+            writeVarLong(out, instant.getEpochSecond());
+            writeVarLong(out, instant.getNano());
+        } else if (value instanceof UUID uuid) {
+            out.write(TAG_UUID);
+            writeFixedLong(out, uuid.getMostSignificantBits());
+            writeFixedLong(out, uuid.getLeastSignificantBits());
+        } else if (value instanceof Boolean bool) {
+            out.write(bool ? TAG_TRUE : TAG_FALSE);
+        } else {
+            throw new IllegalArgumentException("Unsupported cursor key type: " + value.getClass().getName());
+        }
+    }
+
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+
+    private static void writeFixedLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) out.write((int) (value >>> shift));
+    }
+
+
+    private byte[] sign(byte[] buffer, int length, String scope) {
+        Mac mac = macs.get();
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream(32);
+        byte[] scopeBytes = Objects.nonNull(scope) ? scope.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        writeVarLong(prefix, scopeBytes.length);
+        prefix.writeBytes(scopeBytes);
+        mac.update(prefix.toByteArray());
+        mac.update(buffer, 0, length);
+        return Arrays.copyOf(mac.doFinal(), SIGNATURE_LENGTH);
+    }
+
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+
+    private static InvalidRequestException invalid() {
+        return new InvalidRequestException("Invalid cursor", "The pagination cursor is malformed or has been altered");
+    }
+
+
+    /**
+     * Reads the signed part of a cursor; the signature guarantees it was written by a codec, so a
+     * truncated or inconsistent form means a codec of another format version.
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+
+        private final int limit;
+
+        private int position;
+
+
+        private Reader(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+
+        private int read() {
+            if (position >= limit) throw invalid();
+            return buffer[position++] & 0xFF;
+        }
+
+
+        private long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            throw invalid();
+        }
+
+
+        private long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) value = (value << 8) | read();
+            return value;
+        }
+
+
+        private int countKeys() {
+            int start = position;
+            int count = 0;
+            while (position < limit) {
+                readKey();
+                count++;
+            }
+            position = start;
+            return count;
+        }
+
+
+        private Object readKey() {
+            int tag = read();
+            return switch (tag) {
+                case TAG_NULL -> null;
+                case TAG_LONG -> readVarLong();
+                case TAG_STRING -> {
+                    long length = readVarLong();
+                    if (length < 0 || length > limit - position) throw invalid();
+                    String string = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+                    position += (int) length;
+                    yield string;
+                }
+                case TAG_INSTANT -> {
+                    long seconds = readVarLong();
+                    long nanos = readVarLong();
+                    try {
+                        yield Instant.ofEpochSecond(seconds, nanos);
+                    } catch (RuntimeException e) {
+                        throw invalid();
+                    }
+                }
+                case TAG_UUID -> new UUID(readFixedLong(), readFixedLong());
+                case TAG_TRUE -> Boolean.TRUE;
+                case TAG_FALSE -> Boolean.FALSE;
+                default -> throw invalid();
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nob.app.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A page of a keyset paginated result, as the {@code data} of a {@link Response}.
+ *
+ * <p>The page holds its items in sort order and the opaque cursors of the neighbouring pages, which
+ * clients pass back unchanged in the {@code cursor} parameter. A cursor is {@code null}, and omitted
+ * from the JSON, when there is no page in that direction. Pages are built by
+ * {@link CursorPageRequest#toPage}.</p>
+ *
+ * <blockquote><pre>
+ * {
+ *   "items": [ ... ],
+ *   "nextCursor": "ARgC8sOz1ZJjAqoBlqn3m3y0x1Fj0g",
+ *   "previousCursor": "EQLyw7PVkmMCqAFGpc0nRL3S0hhD3g"
+ * }
+ * </pre></blockquote>
+ *
+ * @param <T> the type of the items
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    /** The items of the page, in sort order. */
+    private final List<T> items;
+
+    /** The cursor of the following page, or {@code null} if this is the last page. */
+    private final String nextCursor;
+
+    /** The cursor of the preceding page, or {@code null} if this is the first page. */
+    private final String previousCursor;
+
+
+    /**
+     * Tells whether a following page exists.
+     *
+     * @return {@code true} if {@link #getNextCursor()} is set
+     */
+    public boolean hasNext() {
+        return Objects.nonNull(nextCursor);
+    }
+
+
+    /**
+     * Tells whether a preceding page exists.
+     *
+     * @return {@code true} if {@link #getPreviousCursor()} is set
+     */
+    public boolean hasPrevious() {
+        return Objects.nonNull(previousCursor);
+    }
+}
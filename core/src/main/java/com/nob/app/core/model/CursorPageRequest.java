@@ -0,0 +1,146 @@
+package com.nob.app.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A request for a page of a keyset paginated result, resolved as a controller method argument from the
+ * {@code cursor} and {@code limit} parameters.
+ *
+ * <p>The repository seeks from the {@linkplain #getCursor() cursor}, if any, in its
+ * {@linkplain Cursor#getDirection() direction} and fetches {@link #getFetchSize()} rows, one more than
+ * the limit so that the existence of a further page is known without counting. For a cursor
+ * {@link Cursor.Direction#BEFORE before} a row, rows are fetched in reverse sort order, nearest first.
+ * {@link #toPage} then trims the extra row, restores the sort order and encodes the cursors of the
+ * neighbouring pages:</p>
+ *
+ * <blockquote><pre>
+ * &#64;GetMapping("/orders")
+ * public ResponseEntity&lt;Response&lt;CursorPage&lt;Order&gt;&gt;&gt; list(CursorPageRequest page) {
+ *     List&lt;Order&gt; rows = orderRepository.seek(page.getCursor(), page.getFetchSize());
+ *     return Response.page(page.toPage(rows, order -&gt; new Object[] { order.getCreatedAt(), order.getId() }));
+ * }
+ * </pre></blockquote>
+ *
+ * <p>The cost of a page does not depend on its depth, unlike an offset, which the database has to skip
+ * row by row. The sort key must be unique, typically by ending it with the primary key.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class CursorPageRequest {
+
+    private final Cursor cursor;
+
+    private final int limit;
+
+    private final CursorCodec codec;
+
+    private final String scope;
+
+
+    /**
+     * Creates a page request whose neighbouring cursors are not scoped.
+     *
+     * @param cursor the decoded cursor, or {@code null} for the first page
+     * @param limit  the most items of the page
+     * @param codec  the codec of the cursors of the neighbouring pages
+     */
+    public CursorPageRequest(Cursor cursor, int limit, CursorCodec codec) {
+        this(cursor, limit, codec, null);
+    }
+
+
+    /**
+     * Creates a page request.
+     *
+     * @param cursor the decoded cursor, or {@code null} for the first page
+     * @param limit  the most items of the page
+     * @param codec  the codec of the cursors of the neighbouring pages
+     * @param scope  the scope the cursors of the neighbouring pages are bound to, or {@code null} for none
+     */
+    public CursorPageRequest(Cursor cursor, int limit, CursorCodec codec, String scope) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        this.cursor = cursor;
+        this.limit = limit;
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.scope = scope;
+    }
+
+
+    /**
+     * Returns the cursor to seek from.
+     *
+     * @return the cursor, or {@code null} for the first page
+     */
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+
+    /**
+     * Returns the most items of the page.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+
+    /**
+     * Returns the number of rows to fetch, one more than the limit.
+     *
+     * @return the fetch size
+     */
+    public int getFetchSize() {
+        return limit + 1;
+    }
+
+
+    /**
+     * Tells whether the first page is requested.
+     *
+     * @return {@code true} if no cursor was given
+     */
+    public boolean isFirstPage() {
+        return Objects.isNull(cursor);
+    }
+
+
+    /**
+     * Tells whether rows are fetched in reverse sort order, for a cursor before a row.
+     *
+     * @return {@code true} if the cursor direction is {@link Cursor.Direction#BEFORE}
+     */
+    public boolean isBackward() {
+        return Objects.nonNull(cursor) && cursor.getDirection() == Cursor.Direction.BEFORE;
+    }
+
+
+    /**
+     * Builds the page from the fetched rows.
+     *
+     * @param rows the rows fetched from the cursor, at most {@link #getFetchSize()}, in reverse sort
+     *             order if {@link #isBackward()}
+     * @param keys extracts the sort key values of a row, in the order of the sort
+     * @param <T>  the type of the rows
+     * @return the page, in sort order, with the cursors of the neighbouring pages
+     */
+    public <T> CursorPage<T> toPage(List<T> rows, Function<? super T, Object[]> keys) {
+        boolean more = rows.size() > limit;
+        List<T> items = new ArrayList<>(more ? rows.subList(0, limit) : rows);
+        boolean backward = isBackward();
+        if (backward) Collections.reverse(items);
+        if (items.isEmpty()) return new CursorPage<>(items, null, null);
+
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : !isFirstPage();
+        String next = hasNext ? codec.encode(Cursor.after(keys.apply(items.get(items.size() - 1))), scope) : null;
+        String previous = hasPrevious ? codec.encode(Cursor.before(keys.apply(items.get(0))), scope) : null;
+        return new CursorPage<>(Collections.unmodifiableList(items), next, previous);
+    }
+}
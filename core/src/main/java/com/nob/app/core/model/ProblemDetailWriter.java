@@ -0,0 +1,152 @@
+package com.nob.app.core.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.exception.ApplicationStatusRegistry;
+import com.nob.app.core.exception.StatusDefinition;
+import com.nob.app.core.model.ResponseEnvelopeWriter.Field;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nob.app.core.model.ResponseEnvelopeWriter.quote;
+
+/**
+ * Writes RFC 9457 problem details ({@code application/problem+json}) for error responses with
+ * precomputed byte fragments.
+ *
+ * <p>For every status the opening of the problem ({@code type}, {@code title}, {@code status} and the
+ * {@code code} extension) and the default {@code detail}/{@code message} pair are encoded once, on first
+ * use. Writing a problem then copies those fragments and writes {@code instance}, {@code timestamp},
+ * {@code requestId} and {@code traceId} directly; only {@code data} is serialized through the
+ * {@link ResponseEnvelopeWriter}. Absent members are omitted rather than written as {@code null}.</p>
+ *
+ * <p>With a type base URI the problem {@code type} is the base URI followed by the status code in
+ * kebab case, such as {@code https://errors.example.com/resource-not-found}, and the {@code title} is
+ * the status message. Without one, the type is {@code about:blank} and the title is the HTTP reason
+ * phrase, as the RFC recommends.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class ProblemDetailWriter {
+
+    private static final Field DETAIL = new Field("detail");
+
+    private static final Field MESSAGE = new Field("message");
+
+    private static final Field INSTANCE = new Field("instance");
+
+    private static final Field TIMESTAMP = new Field("timestamp");
+
+    private static final Field REQUEST_ID = new Field("requestId");
+
+    private static final Field TRACE_ID = new Field("traceId");
+
+    private static final Field DATA = new Field("data");
+
+    private final ResponseEnvelopeWriter envelopeWriter;
+
+    private final String typeBaseUri;
+
+    private final Map<String, Fragments> fragmentsByCode = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a writer serializing {@code data} like the given envelope writer.
+     *
+     * @param envelopeWriter the envelope writer of the application object mapper
+     * @param typeBaseUri    the base URI of problem types, or {@code null} for {@code about:blank}
+     */
+    public ProblemDetailWriter(ResponseEnvelopeWriter envelopeWriter, String typeBaseUri) {
+        this.envelopeWriter = envelopeWriter;
+        this.typeBaseUri = Objects.isNull(typeBaseUri) || typeBaseUri.isBlank() ? null
+                : typeBaseUri.endsWith("/") ? typeBaseUri : typeBaseUri + "/";
+    }
+
+
+    /**
+     * Writes a complete problem.
+     *
+     * @param status      the status answered
+     * @param message     the short message, written as the {@code message} extension
+     * @param description the detailed description, written as {@code detail}
+     * @param data        the data, written as the {@code data} extension, may be {@code null}
+     * @param instance    the request URI, written as {@code instance}, may be {@code null}
+     * @param generator   the target generator
+     * @throws IOException if writing fails
+     */
+    public void write(StatusDefinition status, String message, String description, Object data, String instance, JsonGenerator generator) throws IOException {
+        Fragments fragments = fragments(status);
+        generator.writeRaw(fragments.head);
+        if (Objects.equals(status.getMessage(), message) && Objects.equals(status.getDescription(), description)) {
+            generator.writeRaw(fragments.messages);
+        } else {
+            writeString(DETAIL, description, generator);
+            writeString(MESSAGE, message, generator);
+        }
+        writeString(INSTANCE, instance, generator);
+        generator.writeRaw(TIMESTAMP.next);
+        generator.writeRaw(Long.toString(Instant.now().getEpochSecond()));
+        writeString(REQUEST_ID, ServiceHeaderHolder.getRequestId(), generator);
+        writeString(TRACE_ID, ServiceHeaderHolder.getTraceId(), generator);
+        if (Objects.nonNull(data)) {
+            generator.writeRaw(DATA.next);
+            envelopeWriter.writeValue(data, generator);
+        }
+        generator.writeRaw('}');
+    }
+
+
+    private Fragments fragments(StatusDefinition status) {
+        Fragments fragments = fragmentsByCode.get(status.getCode());
+        if (Objects.nonNull(fragments) && fragments.status == status) return fragments;
+        if (ApplicationStatusRegistry.byCode(status.getCode()) != status) return new Fragments(status, typeBaseUri);
+        return fragmentsByCode.computeIfAbsent(status.getCode(), code -> new Fragments(status, typeBaseUri));
+    }
+
+
+    private static void writeString(Field field, String value, JsonGenerator generator) throws IOException {
+        if (Objects.isNull(value)) return;
+        generator.writeRaw(field.next);
+        generator.writeRaw('"');
+        char[] quoted = JsonStringEncoder.getInstance().quoteAsString(value);
+        generator.writeRaw(quoted, 0, quoted.length);
+        generator.writeRaw('"');
+    }
+
+
+    /**
+     * Precomputed fragments for one status.
+     */
+    private static final class Fragments {
+
+        private final StatusDefinition status;
+
+        private final SerializedString head;
+
+        private final SerializedString messages;
+
+        Fragments(StatusDefinition status, String typeBaseUri) {
+            this.status = status;
+            String type = Objects.nonNull(typeBaseUri)
+                    ? typeBaseUri + status.getCode().toLowerCase(Locale.ROOT).replace('_', '-')
+                    : "about:blank";
+            String title = Objects.nonNull(typeBaseUri) ? status.getMessage() : status.getHttpStatus().getReasonPhrase();
+            this.head = new SerializedString("{\"type\":" + quote(type) +
+                    ",\"title\":" + quote(title) +
+                    ",\"status\":" + status.getHttpStatus().value() +
+                    ",\"code\":" + quote(status.getCode()));
+            StringBuilder messages = new StringBuilder();
+            if (Objects.nonNull(status.getDescription())) messages.append(",\"detail\":").append(quote(status.getDescription()));
+            if (Objects.nonNull(status.getMessage())) messages.append(",\"message\":").append(quote(status.getMessage()));
+            this.messages = new SerializedString(messages.toString());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.nob.app.core.model;
+
+import com.nob.app.core.context.ServiceHeaderHolder;
+import com.nob.app.core.exception.DeadlineExceededException;
+import com.nob.app.core.exception.GatewayTimeoutException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking {@link Iterator} over the items of a {@link Flow.Publisher}, for writing them on the
+ * request thread.
+ *
+ * <p>The publisher is subscribed to on the first call to {@link #hasNext()} and never has more than
+ * {@code batchSize} items outstanding: a batch is requested up front and, every time three quarters of
+ * it have been consumed, as many items again. Items are handed over through a queue sized for that
+ * demand, so a fast publisher never buffers more than one batch. An error signal is rethrown by
+ * {@link #hasNext()}; closing the iterator before completion cancels the subscription.</p>
+ *
+ * <p>{@link #hasNext()} waits for the next signal no longer than the idle timeout, nor past the deadline
+ * of the request being served, so that a stalled publisher cannot hold the request thread forever. When
+ * the wait expires the subscription is cancelled and a {@link DeadlineExceededException} or
+ * {@link GatewayTimeoutException} is thrown.</p>
+ *
+ * @param <T> the type of the items
+ * @author Truong Ngo
+ * @version 1.0
+ */
+final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+    static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Object COMPLETE = new Object();
+
+    private final Flow.Publisher<? extends T> publisher;
+
+    private final int batchSize;
+
+    private final int replenishAt;
+
+    private final BlockingQueue<Object> queue;
+
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+    private ServiceHeader header;
+
+    private volatile Flow.Subscription subscription;
+
+    private boolean subscribed;
+
+    private boolean terminated;
+
+    private Object next;
+
+    private int consumed;
+
+
+    PublisherIterator(Flow.Publisher<? extends T> publisher, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        this.publisher = Objects.requireNonNull(publisher, "publisher");
+        this.batchSize = batchSize;
+        this.replenishAt = Math.max(1, batchSize - batchSize / 4);
+        this.queue = new ArrayBlockingQueue<>(batchSize + 1);
+    }
+
+
+    /**
+     * Sets how long {@link #hasNext()} waits for the publisher's next signal.
+     *
+     * @param idleTimeout the longest wait, positive
+     */
+    void setIdleTimeout(Duration idleTimeout) {
+        if (Objects.isNull(idleTimeout) || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.idleTimeout = idleTimeout;
+    }
+
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (Objects.nonNull(this.subscription)) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+
+    @Override
+    public void onNext(T item) {
+        if (!queue.offer(Objects.requireNonNull(item, "item"))) {
+            onError(new IllegalStateException("Publisher emitted more items than requested"));
+        }
+    }
+
+
+    @Override
+    public void onError(Throwable throwable) {
+        Flow.Subscription current = subscription;
+        if (Objects.nonNull(current)) current.cancel();
+        queue.clear();
+        queue.offer(new Failure(throwable));
+    }
+
+
+    @Override
+    public void onComplete() {
+        queue.offer(COMPLETE);
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        if (Objects.nonNull(next)) return next != COMPLETE;
+        if (!subscribed) {
+            subscribed = true;
+            header = ServiceHeaderHolder.get();
+            publisher.subscribe(this);
+        }
+        try {
+            next = poll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CompletionException(e);
+        }
+        if (next instanceof Failure failure) {
+            terminated = true;
+            next = COMPLETE;
+            if (failure.cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (failure.cause instanceof Error error) throw error;
+            throw new CompletionException(failure.cause);
+        }
+        if (next == COMPLETE) terminated = true;
+        return next != COMPLETE;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        T item = (T) next;
+        next = null;
+        if (++consumed == replenishAt) {
+            consumed = 0;
+            subscription.request(replenishAt);
+        }
+        return item;
+    }
+
+
+    private Object poll() throws InterruptedException {
+        long idle = idleTimeout.toMillis();
+        Long remaining = Objects.nonNull(header) ? header.remainingMillis() : null;
+        long wait = Objects.nonNull(remaining) ? Math.min(idle, remaining) : idle;
+        Object signal = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+        if (Objects.nonNull(signal)) return signal;
+        close();
+        next = COMPLETE;
+        if (Objects.nonNull(remaining) && remaining <= idle) {
+            throw new DeadlineExceededException("Deadline exceeded", "The caller's deadline passed while waiting for the publisher.");
+        }
+        throw new GatewayTimeoutException("Publisher timed out", "The publisher emitted nothing for " + idle + "ms.");
+    }
+
+
+    /**
+     * Tells whether the next item can be taken without waiting for the publisher.
+     *
+     * @return {@code true} if an item or a terminal signal is available
+     */
+    boolean isReady() {
+        return Objects.nonNull(next) || !queue.isEmpty();
+    }
+
+
+    /**
+     * Cancels the subscription, unless the publisher has terminated.
+     */
+    @Override
+    public void close() {
+        if (terminated) return;
+        terminated = true;
+        Flow.Subscription current = subscription;
+        if (Objects.nonNull(current)) current.cancel();
+    }
+
+
+    private record Failure(Throwable cause) {}
+}
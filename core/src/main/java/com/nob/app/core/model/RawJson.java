@@ -0,0 +1,110 @@
+package com.nob.app.core.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON value kept as the raw bytes it was received in, parsed only on demand.
+ *
+ * <p>Used for the {@code data} of error envelopes returned by downstream services: when the error is
+ * propagated as it is, the value is written back verbatim without ever being parsed into objects,
+ * and callers that need it can still {@linkplain #as(Class) convert} it with the application object
+ * mapper, its modules and its features.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class RawJson implements JsonSerializable {
+
+    private final byte[] source;
+
+    private final int offset;
+
+    private final int length;
+
+    private final ObjectMapper objectMapper;
+
+
+    /**
+     * Creates a value over a range of UTF-8 JSON bytes, which are not copied.
+     *
+     * @param source       the bytes containing the value
+     * @param offset       the offset of the value
+     * @param length       the length of the value
+     * @param objectMapper the application object mapper, used to parse the value on demand
+     */
+    public RawJson(byte[] source, int offset, int length, ObjectMapper objectMapper) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * Parses the value into the given type.
+     *
+     * @param type the target type
+     * @param <T>  the target type
+     * @return the parsed value
+     * @throws UncheckedIOException if the value cannot be parsed into the type
+     */
+    public <T> T as(Class<T> type) {
+        try {
+            return objectMapper.readValue(source, offset, length, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Parses the value into the given generic type.
+     *
+     * @param type the target type
+     * @param <T>  the target type
+     * @return the parsed value
+     * @throws UncheckedIOException if the value cannot be parsed into the type
+     */
+    public <T> T as(TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(source, offset, length, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Writes the value verbatim.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(toString());
+    }
+
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+
+    /**
+     * Returns the JSON text of the value.
+     *
+     * @return the JSON text
+     */
+    @Override
+    public String toString() {
+        return new String(source, offset, length, StandardCharsets.UTF_8);
+    }
+}
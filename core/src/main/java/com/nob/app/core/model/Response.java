@@ -1,14 +1,18 @@
 package com.nob.app.core.model;
 
 import com.nob.app.core.constant.CustomHeaders;
+import com.nob.app.core.context.ServiceHeaderHolder;
 import com.nob.app.core.exception.ApplicationException;
 import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.StatusDefinition;
 import lombok.Getter;
 import lombok.Setter;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.util.Objects;
 
 /**
  * Generic response wrapper for REST API responses.
@@ -17,6 +21,16 @@ import java.time.Instant;
  * such as status, code, HTTP status, message, timestamps, request and trace IDs.
  * It also provides utility methods to create success and error responses.
  * </p>
+ * <p>
+ * Each factory method allocates the envelope and a single {@link ResponseEntity}, sharing the read-only
+ * empty headers between responses. Responses that need headers, such as
+ * {@code Retry-After}, or a custom message are built with {@link #status(StatusDefinition)}:
+ * </p>
+ * <blockquote><pre>
+ * return Response.status(ApplicationStatus.SERVICE_UNAVAILABLE)
+ *         .retryAfter(Duration.ofSeconds(30))
+ *         .body(null);
+ * </pre></blockquote>
  *
  * @param <D> the type of data in the response
  * @author Truong Ngo
@@ -54,9 +68,48 @@ public class Response<D> {
     private D data;
 
 
+    /**
+     * Starts building a response with the given application status.
+     *
+     * @param status the application status, built-in or registered
+     * @return a builder with the default message and description of the status
+     */
+    public static Builder status(StatusDefinition status) {
+        return new Builder(status);
+    }
+
+
     /**
      * Creates a response entity with the given application status, data, message, and description.
      *
+     * @param status      the application status, built-in or registered
+     * @param data        the response data
+     * @param message     the response message
+     * @param description the response description
+     * @param <D>         the type of data in the response
+     * @return a ResponseEntity containing the standardized response
+     */
+    public static <D> ResponseEntity<Response<D>> of(StatusDefinition status, D data, String message, String description) {
+        return entity(status, envelope(status, data, message, description), HttpHeaders.EMPTY);
+    }
+
+
+    /**
+     * Creates a response entity with the given application status and data.
+     *
+     * @param status the application status, built-in or registered
+     * @param data   the response data
+     * @param <D>    the type of data in the response
+     * @return a ResponseEntity containing the standardized response
+     */
+    public static <D> ResponseEntity<Response<D>> of(StatusDefinition status, D data) {
+        return of(status, data, status.getMessage(), status.getDescription());
+    }
+
+
+    /**
+     * Creates a response entity with the given built-in application status, data, message, and description.
+     *
      * @param status      the application status
      * @param data        the response data
      * @param message     the response message
@@ -65,22 +118,12 @@ public class Response<D> {
      * @return a ResponseEntity containing the standardized response
      */
     public static <D> ResponseEntity<Response<D>> of(ApplicationStatus status, D data, String message, String description) {
-        Response<D> response = new Response<>();
-        response.setHttpStatus(status.getHttpStatus().value());
-        response.setStatus(status.getStatus());
-        response.setCode(status.getCode());
-        response.setMessage(message);
-        response.setDescription(description);
-        response.setTimestamp(Instant.now().getEpochSecond());
-        response.setRequestId(MDC.get(CustomHeaders.REQUEST_ID));
-        response.setTraceId(MDC.get(CustomHeaders.TRACE_ID));
-        response.setData(data);
-        return ResponseEntity.status(status.getHttpStatus()).body(response);
+        return of((StatusDefinition) status, data, message, description);
     }
 
 
     /**
-     * Creates a response entity with the given application status and data.
+     * Creates a response entity with the given built-in application status and data.
      *
      * @param status the application status
      * @param data   the response data
@@ -88,23 +131,71 @@ public class Response<D> {
      * @return a ResponseEntity containing the standardized response
      */
     public static <D> ResponseEntity<Response<D>> of(ApplicationStatus status, D data) {
+        return of((StatusDefinition) status, data);
+    }
+
+
+    /**
+     * Creates the envelope for the given application status, data, message, and description, stamped
+     * with the current time and the request and trace IDs of the current request.
+     *
+     * @param status      the application status, built-in or registered
+     * @param data        the response data
+     * @param message     the response message
+     * @param description the response description
+     * @param <D>         the type of data in the response
+     * @return the standardized response
+     */
+    public static <D> Response<D> envelope(StatusDefinition status, D data, String message, String description) {
         Response<D> response = new Response<>();
         response.setHttpStatus(status.getHttpStatus().value());
         response.setStatus(status.getStatus());
         response.setCode(status.getCode());
-        response.setMessage(status.getMessage());
-        response.setDescription(status.getDescription());
-        response.setTimestamp(Instant.now().getEpochSecond());
-        response.setRequestId(MDC.get(CustomHeaders.REQUEST_ID));
-        response.setTraceId(MDC.get(CustomHeaders.TRACE_ID));
+        response.setMessage(message);
+        response.setDescription(description);
+        response.setTimestamp(System.currentTimeMillis() / 1000);
+        ServiceHeader header = ServiceHeaderHolder.get();
+        if (Objects.nonNull(header)) {
+            response.setRequestId(header.getRequestId());
+            response.setTraceId(header.getTraceId());
+        } else {
+            response.setRequestId(MDC.get(CustomHeaders.REQUEST_ID));
+            response.setTraceId(MDC.get(CustomHeaders.TRACE_ID));
+        }
         response.setData(data);
-        return ResponseEntity.status(status.getHttpStatus()).body(response);
+        return response;
     }
 
 
     /**
      * Creates an object type response entity with the given application status, data, message, and description.
      *
+     * @param status      the application status, built-in or registered
+     * @param data        the response data
+     * @param message     the response message
+     * @param description the response description
+     * @return a ResponseEntity containing the standardized response
+     */
+    public static ResponseEntity<Object> wrap(StatusDefinition status, Object data, String message, String description) {
+        return entity(status, envelope(status, data, message, description), HttpHeaders.EMPTY);
+    }
+
+
+    /**
+     * Creates an object type response entity with the given application status and data.
+     *
+     * @param status the application status, built-in or registered
+     * @param data   the response data as object
+     * @return a ResponseEntity containing the standardized response
+     */
+    public static ResponseEntity<Object> wrap(StatusDefinition status, Object data) {
+        return wrap(status, data, status.getMessage(), status.getDescription());
+    }
+
+
+    /**
+     * Creates an object type response entity with the given built-in application status, data, message, and description.
+     *
      * @param status      the application status
      * @param data        the response data
      * @param message     the response message
@@ -112,21 +203,19 @@ public class Response<D> {
      * @return a ResponseEntity containing the standardized response
      */
     public static ResponseEntity<Object> wrap(ApplicationStatus status, Object data, String message, String description) {
-        ResponseEntity<Response<Object>> response = of(status, data, message, description);
-        return ResponseEntity.status(status.getHttpStatus()).body(response);
+        return wrap((StatusDefinition) status, data, message, description);
     }
 
 
     /**
-     * Creates an object type response entity with the given application status and data.
+     * Creates an object type response entity with the given built-in application status and data.
      *
      * @param status the application status
      * @param data   the response data as object
      * @return a ResponseEntity containing the standardized response
      */
     public static ResponseEntity<Object> wrap(ApplicationStatus status, Object data) {
-        ResponseEntity<Response<Object>> response = of(status, data);
-        return ResponseEntity.status(status.getHttpStatus()).body(response);
+        return wrap((StatusDefinition) status, data);
     }
 
 
@@ -156,6 +245,18 @@ public class Response<D> {
     }
 
 
+    /**
+     * Creates a success response entity with a page of a keyset paginated result.
+     *
+     * @param page the page, as built by {@link CursorPageRequest#toPage}
+     * @param <T>  the type of the items of the page
+     * @return a ResponseEntity containing the page and the cursors of its neighbouring pages
+     */
+    public static <T> ResponseEntity<Response<CursorPage<T>>> page(CursorPage<T> page) {
+        return of(ApplicationStatus.SUCCESS, page);
+    }
+
+
     /**
      * Creates an error response entity from an {@code ApplicationException}.
      *
@@ -167,7 +268,6 @@ public class Response<D> {
     }
 
 
-
     /**
      * Creates an object base error response entity from an {@code ApplicationException}.
      *
@@ -175,7 +275,130 @@ public class Response<D> {
      * @return a ResponseEntity containing the error response
      */
     public static ResponseEntity<Object> wrap(ApplicationException exception) {
-        ResponseEntity<Response<Object>> response = error(exception);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+        return wrap(exception.getStatus(), exception.getDetail(), exception.getMessage(), exception.getDescription());
+    }
+
+
+    private static <B> ResponseEntity<B> entity(StatusDefinition status, Response<?> response, HttpHeaders headers) {
+        @SuppressWarnings("unchecked")
+        B body = (B) response;
+        return new ResponseEntity<>(body, headers, status.getHttpStatus());
+    }
+
+
+    /**
+     * Builder of a response entity with a custom message, description or headers.
+     */
+    public static final class Builder {
+
+        private final StatusDefinition status;
+
+        private String message;
+
+        private String description;
+
+        private HttpHeaders headers;
+
+        private Builder(StatusDefinition status) {
+            this.status = Objects.requireNonNull(status, "status");
+            this.message = status.getMessage();
+            this.description = status.getDescription();
+        }
+
+
+        /**
+         * Sets the response message.
+         *
+         * @param message the response message
+         * @return this builder
+         */
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+
+        /**
+         * Sets the response description.
+         *
+         * @param description the response description
+         * @return this builder
+         */
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+
+        /**
+         * Adds a response header.
+         *
+         * @param name   the header name
+         * @param values the header values
+         * @return this builder
+         */
+        public Builder header(String name, String... values) {
+            for (String value : values) headers().add(name, value);
+            return this;
+        }
+
+
+        /**
+         * Adds the given response headers.
+         *
+         * @param headers the headers to add
+         * @return this builder
+         */
+        public Builder headers(HttpHeaders headers) {
+            headers().addAll(headers);
+            return this;
+        }
+
+
+        /**
+         * Sets the {@code Retry-After} header, telling the client when to try again.
+         *
+         * @param delay the delay, rounded up to whole seconds
+         * @return this builder
+         */
+        public Builder retryAfter(Duration delay) {
+            long seconds = delay.getSeconds() + (delay.getNano() > 0 ? 1 : 0);
+            headers().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(seconds, 0)));
+            return this;
+        }
+
+
+        /**
+         * Builds the response entity with the given data.
+         *
+         * @param data the response data
+         * @param <D>  the type of data in the response
+         * @return a ResponseEntity containing the standardized response
+         */
+        public <D> ResponseEntity<Response<D>> body(D data) {
+            return entity(status, envelope(status, data, message, description), responseHeaders());
+        }
+
+
+        /**
+         * Builds the object type response entity with the given data, as returned by exception handlers.
+         *
+         * @param data the response data
+         * @return a ResponseEntity containing the standardized response
+         */
+        public ResponseEntity<Object> wrap(Object data) {
+            return entity(status, envelope(status, data, message, description), responseHeaders());
+        }
+
+
+        private HttpHeaders headers() {
+            if (Objects.isNull(headers)) headers = new HttpHeaders();
+            return headers;
+        }
+
+
+        private HttpHeaders responseHeaders() {
+            return Objects.nonNull(headers) ? headers : HttpHeaders.EMPTY;
+        }
     }
 }
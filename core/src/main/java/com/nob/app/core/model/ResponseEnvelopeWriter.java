@@ -0,0 +1,385 @@
+package com.nob.app.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.ApplicationStatusRegistry;
+import com.nob.app.core.exception.StatusDefinition;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link Response} envelopes with precomputed byte fragments.
+ *
+ * <p>For every {@link ApplicationStatus}, and every status registered with the
+ * {@link ApplicationStatusRegistry}, the opening of the envelope ({@code status}, {@code code} and
+ * {@code httpStatus}) and the default {@code message}/{@code description} pair are encoded once, up
+ * front, the latter on first use. Writing a response then copies those fragments, writes the few per-request fields directly
+ * and streams only {@code data} through Jackson. The output is byte-for-byte what Jackson produces for
+ * the {@link Response} POJO with the same {@link ObjectMapper}, as long as {@link #isCompatible()}
+ * holds. Otherwise, streamed envelopes are opened and closed with the {@code writeMapped*} methods,
+ * which go through the mapper and so follow its naming, inclusion, indentation and root wrapping.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class ResponseEnvelopeWriter {
+
+    private static final Field STATUS = new Field("status");
+
+    private static final Field CODE = new Field("code");
+
+    private static final Field HTTP_STATUS = new Field("httpStatus");
+
+    private static final Field MESSAGE = new Field("message");
+
+    private static final Field DESCRIPTION = new Field("description");
+
+    private static final Field TIMESTAMP = new Field("timestamp");
+
+    private static final Field REQUEST_ID = new Field("requestId");
+
+    private static final Field TRACE_ID = new Field("traceId");
+
+    private static final Field DATA = new Field("data");
+
+    private static final SerializedString NULL = new SerializedString("null");
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter elementWriter;
+
+    private final boolean includeNulls;
+
+    private final boolean compatible;
+
+    private final boolean indent;
+
+    private final String dataName;
+
+    private final String rootName;
+
+    private final Map<String, Fragments> fragmentsByCode = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a writer producing the same output as the given mapper.
+     *
+     * @param objectMapper the application object mapper
+     */
+    public ResponseEnvelopeWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE,
+                SerializationFeature.INDENT_OUTPUT, SerializationFeature.WRAP_ROOT_VALUE);
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        JsonInclude.Include inclusion = config.getDefaultPropertyInclusion(Response.class).getValueInclusion();
+        this.includeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+        this.compatible = (includeNulls || inclusion == JsonInclude.Include.NON_NULL)
+                && Objects.isNull(config.getPropertyNamingStrategy())
+                && !config.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !config.isEnabled(SerializationFeature.WRAP_ROOT_VALUE);
+        this.indent = config.isEnabled(SerializationFeature.INDENT_OUTPUT);
+        this.dataName = config.introspect(config.constructType(Response.class)).findProperties().stream()
+                .filter(property -> "data".equals(property.getInternalName()))
+                .map(BeanPropertyDefinition::getName)
+                .findFirst()
+                .orElse("data");
+        this.rootName = config.isEnabled(SerializationFeature.WRAP_ROOT_VALUE) ?
+                config.findRootName(Response.class).getSimpleName() :
+                null;
+        for (StatusDefinition status : ApplicationStatusRegistry.statuses()) {
+            fragmentsByCode.put(status.getCode(), new Fragments(status));
+        }
+    }
+
+
+    /**
+     * Tells whether the mapper configuration allows the precomputed envelope layout.
+     *
+     * @return {@code false} if the mapper renames, indents, wraps or filters properties in a way the writer
+     *         does not reproduce
+     */
+    public boolean isCompatible() {
+        return compatible;
+    }
+
+
+    /**
+     * Creates a UTF-8 generator over the given stream, configured like the application mapper.
+     * Root-level values are not separated, so the envelope can be assembled from several writes, and
+     * closing the generator releases its buffers without closing the target stream.
+     *
+     * @param out the target stream
+     * @return a new generator
+     * @throws IOException if the generator cannot be created
+     */
+    public JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+
+    /**
+     * Writes a complete envelope.
+     *
+     * @param response  the response to write
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void write(Response<?> response, JsonGenerator generator) throws IOException {
+        boolean written = writeHead(response, generator);
+        Object data = response.getData();
+        if (Objects.nonNull(data) || includeNulls) {
+            generator.writeRaw(written ? DATA.next : DATA.first);
+            writeValue(data, generator);
+        }
+        writeTail(generator);
+    }
+
+
+    /**
+     * Writes every envelope field before {@code data}, leaving the object open.
+     *
+     * @param response  the response whose metadata is written
+     * @param generator the target generator
+     * @return {@code true} if at least one field was written, so that the next field needs a separator
+     * @throws IOException if writing fails
+     */
+    public boolean writeHead(Response<?> response, JsonGenerator generator) throws IOException {
+        Fragments fragment = fragments(response.getCode());
+        boolean written;
+        if (Objects.nonNull(fragment) && fragment.matches(response)) {
+            generator.writeRaw(fragment.head);
+            written = true;
+        } else {
+            generator.writeRaw('{');
+            written = writeString(STATUS, response.getStatus(), generator, false);
+            written = writeString(CODE, response.getCode(), generator, written) || written;
+            written = writeNumber(HTTP_STATUS, response.getHttpStatus(), generator, written) || written;
+        }
+        if (written && Objects.nonNull(fragment) && fragment.hasDefaultMessages(response)) {
+            generator.writeRaw(fragment.messages);
+        } else {
+            written = writeString(MESSAGE, response.getMessage(), generator, written) || written;
+            written = writeString(DESCRIPTION, response.getDescription(), generator, written) || written;
+        }
+        written = writeNumber(TIMESTAMP, response.getTimestamp(), generator, written) || written;
+        written = writeString(REQUEST_ID, response.getRequestId(), generator, written) || written;
+        written = writeString(TRACE_ID, response.getTraceId(), generator, written) || written;
+        return written;
+    }
+
+
+    /**
+     * Writes the {@code data} field name, to be followed by the value.
+     *
+     * @param generator the target generator
+     * @param separated whether a field was written before, as returned by {@link #writeHead}
+     * @throws IOException if writing fails
+     */
+    public void writeDataName(JsonGenerator generator, boolean separated) throws IOException {
+        generator.writeRaw(separated ? DATA.next : DATA.first);
+    }
+
+
+    /**
+     * Closes an envelope opened by {@link #writeHead}.
+     *
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void writeTail(JsonGenerator generator) throws IOException {
+        generator.writeRaw('}');
+    }
+
+
+    /**
+     * Writes every envelope field but {@code data} through the application mapper, leaving the object
+     * open, for mappers that are not {@linkplain #isCompatible() compatible}. Fields are named, included
+     * and wrapped as the mapper does for the {@link Response} POJO.
+     *
+     * @param response  the response whose metadata is written
+     * @param generator the target generator
+     * @param pretty    whether to indent the output if the mapper does
+     * @throws IOException if writing fails
+     */
+    public void writeMappedHead(Response<?> response, JsonGenerator generator, boolean pretty) throws IOException {
+        if (pretty && indent && Objects.isNull(generator.getPrettyPrinter())) generator.useDefaultPrettyPrinter();
+        ObjectNode fields;
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            elementWriter.writeValue(buffer, response);
+            fields = objectMapper.readTree(buffer.asParser(objectMapper));
+        }
+        fields.remove(dataName);
+        if (Objects.nonNull(rootName)) {
+            generator.writeStartObject();
+            generator.writeFieldName(rootName);
+        }
+        generator.writeStartObject();
+        for (Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields(); iterator.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            generator.writeFieldName(field.getKey());
+            elementWriter.writeValue(generator, field.getValue());
+        }
+    }
+
+
+    /**
+     * Writes the {@code data} field name as the mapper names it, after {@link #writeMappedHead}.
+     *
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void writeMappedDataName(JsonGenerator generator) throws IOException {
+        generator.writeFieldName(dataName);
+    }
+
+
+    /**
+     * Closes an envelope opened by {@link #writeMappedHead}.
+     *
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void writeMappedTail(JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        if (Objects.nonNull(rootName)) generator.writeEndObject();
+    }
+
+
+    /**
+     * Serializes a single value with the application mapper.
+     *
+     * @param value     the value, may be {@code null}
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void writeValue(Object value, JsonGenerator generator) throws IOException {
+        if (Objects.isNull(value)) {
+            generator.writeRaw(NULL);
+        } else {
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+
+    /**
+     * Serializes one element of a streamed body with the application mapper. Unlike
+     * {@link #writeValue}, the generator is not flushed afterwards, so elements are sent as buffers fill.
+     *
+     * @param value     the element, may be {@code null}
+     * @param generator the target generator
+     * @throws IOException if writing fails
+     */
+    public void writeElement(Object value, JsonGenerator generator) throws IOException {
+        if (Objects.isNull(value)) {
+            generator.writeNull();
+        } else {
+            elementWriter.writeValue(generator, value);
+        }
+    }
+
+
+    private Fragments fragments(String code) {
+        if (Objects.isNull(code)) return null;
+        Fragments fragments = fragmentsByCode.get(code);
+        if (Objects.nonNull(fragments)) return fragments;
+        StatusDefinition status = ApplicationStatusRegistry.byCode(code);
+        return Objects.nonNull(status) ? fragmentsByCode.computeIfAbsent(code, c -> new Fragments(status)) : null;
+    }
+
+
+    private boolean writeString(Field field, String value, JsonGenerator generator, boolean separated) throws IOException {
+        if (Objects.isNull(value) && !includeNulls) return false;
+        generator.writeRaw(separated ? field.next : field.first);
+        if (Objects.isNull(value)) {
+            generator.writeRaw(NULL);
+            return true;
+        }
+        generator.writeRaw('"');
+        char[] quoted = JsonStringEncoder.getInstance().quoteAsString(value);
+        generator.writeRaw(quoted, 0, quoted.length);
+        generator.writeRaw('"');
+        return true;
+    }
+
+
+    private boolean writeNumber(Field field, Number value, JsonGenerator generator, boolean separated) throws IOException {
+        if (Objects.isNull(value) && !includeNulls) return false;
+        generator.writeRaw(separated ? field.next : field.first);
+        generator.writeRaw(Objects.isNull(value) ? "null" : value.toString());
+        return true;
+    }
+
+
+    static String quote(String value) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+
+    /**
+     * Precomputed field name fragments, with and without a leading separator.
+     */
+    static final class Field {
+
+        final SerializedString first;
+
+        final SerializedString next;
+
+        Field(String name) {
+            this.first = new SerializedString(quote(name) + ":");
+            this.next = new SerializedString("," + quote(name) + ":");
+        }
+    }
+
+
+    /**
+     * Precomputed fragments for one status.
+     */
+    private static final class Fragments {
+
+        private final StatusDefinition status;
+
+        private final SerializedString head;
+
+        private final SerializedString messages;
+
+        Fragments(StatusDefinition status) {
+            this.status = status;
+            this.head = new SerializedString("{\"status\":" + quote(status.getStatus()) +
+                    ",\"code\":" + quote(status.getCode()) +
+                    ",\"httpStatus\":" + status.getHttpStatus().value());
+            this.messages = new SerializedString(",\"message\":" + quote(status.getMessage()) +
+                    ",\"description\":" + quote(status.getDescription()));
+        }
+
+        boolean matches(Response<?> response) {
+            return status.getStatus().equals(response.getStatus())
+                    && Objects.nonNull(response.getHttpStatus())
+                    && response.getHttpStatus() == status.getHttpStatus().value();
+        }
+
+        boolean hasDefaultMessages(Response<?> response) {
+            return status.getMessage().equals(response.getMessage())
+                    && status.getDescription().equals(response.getDescription());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.nob.app.core.model;
 
 import com.nob.app.core.constant.CustomHeaders;
+import com.nob.app.core.context.RequestReceiptFilter;
+import com.nob.app.core.context.TraceContext;
+import com.nob.app.core.id.IdGenerators;
 import com.nob.utils.JsonUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
@@ -10,7 +13,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.HandlerMapping;
 
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Represents the service header containing metadata about an incoming request.
@@ -42,9 +44,27 @@ public class ServiceHeader {
     /** The unique trace identifier for tracking requests across services. */
     private String traceId;
 
-    /** The timestamp of the request. */
+    /** The W3C trace ID propagated in the {@code traceparent} header. */
+    private String w3cTraceId;
+
+    /** The span ID of this service's handling of the request. */
+    private String spanId;
+
+    /** The span ID of the caller, taken from the inbound {@code traceparent} header. */
+    private String parentSpanId;
+
+    /** The W3C trace flags propagated in the {@code traceparent} header. */
+    private String traceFlags;
+
+    /** The W3C {@code tracestate} header value, propagated unchanged. */
+    private String traceState;
+
+    /** The epoch milliseconds at which the request was received. */
     private Long timestamp;
 
+    /** The epoch milliseconds by which the caller needs the response, or {@code null} if there is no deadline. */
+    private Long deadline;
+
     /** The IP address of the source application making the request. */
     private String srcAppIp;
 
@@ -70,24 +90,33 @@ public class ServiceHeader {
     /**
      * Creates a {@code ServiceHeader} instance from the given {@code HttpServletRequest}.
      *
-     * <p>Generates a new {@code requestId} and {@code traceId} if they are not present in the request headers.
+     * <p>Generates a new {@code requestId} and {@code traceId} with the active
+     * {@link com.nob.app.core.id.IdGenerator} if they are not present in the request headers.
+     * A valid W3C {@code traceparent} header continues the caller's trace: its trace ID is used
+     * when no {@code X-Trace-Id} is sent, and its parent ID becomes the parent span of the new span
+     * generated for this hop. Without it, a W3C trace ID is derived from the trace ID.
+     * A positive {@code X-Request-Timeout} budget sets the deadline relative to the time of receipt, as
+     * recorded by the {@link com.nob.app.core.context.RequestReceiptFilter}; other budgets are ignored.
+     * A budget too large to add to the time of receipt means no practical limit.
      * The authorization token is masked for security reasons.</p>
      *
      * @param request the HTTP servlet request
      * @return a populated {@code ServiceHeader} instance
      */
     public static ServiceHeader of(HttpServletRequest request) {
-        String requestId = Objects.nonNull(request.getHeader(CustomHeaders.REQUEST_ID)) ?
-                request.getHeader(CustomHeaders.REQUEST_ID) :
-                UUID.randomUUID().toString();
-        String traceId = Objects.nonNull(request.getHeader(CustomHeaders.TRACE_ID)) ?
-                request.getHeader(CustomHeaders.TRACE_ID) :
-                UUID.randomUUID().toString();
+        String requestId = request.getHeader(CustomHeaders.REQUEST_ID);
+        if (Objects.isNull(requestId)) requestId = IdGenerators.nextRequestId();
+        TraceContext traceParent = TraceContext.parse(request.getHeader(CustomHeaders.TRACE_PARENT));
+        String traceId = request.getHeader(CustomHeaders.TRACE_ID);
+        if (Objects.isNull(traceId)) {
+            traceId = Objects.nonNull(traceParent) ? traceParent.getTraceId() : IdGenerators.nextTraceId();
+        }
         String authorization = Objects.nonNull(request.getHeader(HttpHeaders.AUTHORIZATION)) ?
                 "<<Not intent to log>>" : null;
         Object uri = request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
 
         ServiceHeader header = new ServiceHeader();
+        header.setTimestamp(RequestReceiptFilter.getReceivedAt(request));
         header.setContextPath(request.getContextPath());
         header.setUri(uri != null ? uri.toString() : "/");
         header.setSrcAppIp(request.getRemoteAddr());
@@ -97,11 +126,60 @@ public class ServiceHeader {
         header.setHttpMethod(request.getMethod());
         header.setRequestId(requestId);
         header.setTraceId(traceId);
+        header.setSpanId(TraceContext.newSpanId());
+        if (Objects.nonNull(traceParent)) {
+            header.setW3cTraceId(traceParent.getTraceId());
+            header.setParentSpanId(traceParent.getParentId());
+            header.setTraceFlags(traceParent.getFlags());
+            header.setTraceState(request.getHeader(CustomHeaders.TRACE_STATE));
+        } else {
+            header.setW3cTraceId(TraceContext.toTraceId(traceId));
+            header.setTraceFlags(TraceContext.SAMPLED);
+        }
+        header.setDeadline(parseDeadline(request.getHeader(CustomHeaders.REQUEST_TIMEOUT), header.getTimestamp()));
         header.setAuthorization(authorization);
         return header;
     }
 
 
+    /**
+     * Returns the W3C {@code traceparent} header value identifying this hop as the parent of outgoing calls.
+     *
+     * @return the {@code traceparent} value, or {@code null} if the trace or span ID is missing
+     */
+    public String toTraceParent() {
+        if (Objects.isNull(w3cTraceId) || Objects.isNull(spanId)) return null;
+        return TraceContext.format(w3cTraceId, spanId, Objects.nonNull(traceFlags) ? traceFlags : TraceContext.SAMPLED);
+    }
+
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining milliseconds, zero or negative once the deadline has passed, or {@code null} if there is no deadline
+     */
+    public Long remainingMillis() {
+        return Objects.nonNull(deadline) ? deadline - System.currentTimeMillis() : null;
+    }
+
+
+    private static Long parseDeadline(String budget, long receivedAt) {
+        if (Objects.isNull(budget)) return null;
+        long millis;
+        try {
+            millis = Long.parseLong(budget.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (millis <= 0) return null;
+        try {
+            return Math.addExact(receivedAt, millis);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+
     /**
      * Returns a JSON representation of this {@code ServiceHeader}.
      *
@@ -0,0 +1,322 @@
+package com.nob.app.core.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.nob.app.core.exception.ApplicationStatus;
+import com.nob.app.core.exception.StatusDefinition;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * Streaming variant of the {@link Response} envelope, for results too large to hold in memory.
+ *
+ * <p>Returned from a controller method, it is written by the
+ * {@link com.nob.app.core.config.StreamingResponseHttpMessageConverter}: the envelope metadata first,
+ * then the elements of {@code data} one by one as the source produces them, so only the element being
+ * serialized is held in memory. Elements come from a {@link Stream}, an {@link Iterator} or a
+ * {@link Flow.Publisher}; a Reactor {@code Flux} is adapted with {@code JdkFlowAdapter}. The source is
+ * closed, or its subscription cancelled, once the response is written or writing fails.</p>
+ *
+ * <blockquote><pre>
+ * &#64;GetMapping("/export")
+ * public StreamingResponse&lt;Item&gt; export() {
+ *     return StreamingResponse.of(itemRepository.streamAll());
+ * }
+ * </pre></blockquote>
+ *
+ * <p>In the default {@link Format#ENVELOPE} format the body is the regular envelope with {@code data}
+ * as a JSON array. In the {@link Format#NDJSON} format the first line holds the envelope without
+ * {@code data} and every following line one element. Elements of a publisher are flushed as soon as
+ * the publisher falls behind, so clients see them without waiting for the next buffer to fill.</p>
+ *
+ * <p>When the application mapper renames, filters, indents or wraps the envelope in a way the
+ * {@link ResponseEnvelopeWriter} does not reproduce, the envelope metadata is written through the mapper
+ * instead, so that streamed envelopes look like every other {@link Response}.</p>
+ *
+ * <p>The status and headers are committed with the first bytes, so a failure of the source midway
+ * cannot be answered with an error response: the body is cut short and the connection is closed.</p>
+ *
+ * @param <T> the type of the elements
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class StreamingResponse<T> {
+
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Iterator<? extends T> source;
+
+    private final AutoCloseable closeable;
+
+    private StatusDefinition status;
+
+    private String message;
+
+    private String description;
+
+    private Format format = Format.ENVELOPE;
+
+
+    private StreamingResponse(Iterator<? extends T> source, AutoCloseable closeable) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.closeable = closeable;
+    }
+
+
+    /**
+     * Creates a streaming response over the elements of a stream, which is closed once written.
+     *
+     * @param stream the elements
+     * @param <T>    the type of the elements
+     * @return a new streaming response with the {@code SUCCESS} status
+     */
+    public static <T> StreamingResponse<T> of(Stream<? extends T> stream) {
+        return new StreamingResponse<>(stream.iterator(), stream);
+    }
+
+
+    /**
+     * Creates a streaming response over the elements of an iterator, which is closed once written if it
+     * is {@link AutoCloseable}.
+     *
+     * @param iterator the elements
+     * @param <T>      the type of the elements
+     * @return a new streaming response with the {@code SUCCESS} status
+     */
+    public static <T> StreamingResponse<T> of(Iterator<? extends T> iterator) {
+        return new StreamingResponse<>(iterator, iterator instanceof AutoCloseable closeable ? closeable : null);
+    }
+
+
+    /**
+     * Creates a streaming response over the items of a publisher, requesting them in batches of 256.
+     * The publisher is subscribed to when the response is written, so items a hot publisher emits
+     * before then are missed. Writing gives up, cancelling the subscription, once the publisher stays
+     * silent for 30 seconds or the deadline of the request passes; see {@link #idleTimeout(Duration)}.
+     *
+     * @param publisher the elements
+     * @param <T>       the type of the elements
+     * @return a new streaming response with the {@code SUCCESS} status
+     */
+    public static <T> StreamingResponse<T> of(Flow.Publisher<? extends T> publisher) {
+        return of(publisher, DEFAULT_BATCH_SIZE);
+    }
+
+
+    /**
+     * Creates a streaming response over the items of a publisher.
+     *
+     * @param publisher the elements
+     * @param batchSize the most items requested from the publisher ahead of writing them
+     * @param <T>       the type of the elements
+     * @return a new streaming response with the {@code SUCCESS} status
+     */
+    public static <T> StreamingResponse<T> of(Flow.Publisher<? extends T> publisher, int batchSize) {
+        PublisherIterator<T> iterator = new PublisherIterator<>(publisher, batchSize);
+        return new StreamingResponse<>(iterator, iterator);
+    }
+
+
+    /**
+     * Sets the status of the response, which also sets its HTTP status.
+     *
+     * @param status the application status, built-in or registered
+     * @return this response
+     */
+    public StreamingResponse<T> status(StatusDefinition status) {
+        this.status = Objects.requireNonNull(status, "status");
+        return this;
+    }
+
+
+    /**
+     * Sets the message of the envelope.
+     *
+     * @param message the message
+     * @return this response
+     */
+    public StreamingResponse<T> message(String message) {
+        this.message = message;
+        return this;
+    }
+
+
+    /**
+     * Sets the description of the envelope.
+     *
+     * @param description the description
+     * @return this response
+     */
+    public StreamingResponse<T> description(String description) {
+        this.description = description;
+        return this;
+    }
+
+
+    /**
+     * Sets how long writing waits for the next item of a publisher before giving up and cancelling
+     * the subscription. The wait never runs past the deadline of the request either.
+     *
+     * @param idleTimeout the longest wait for an item, 30 seconds by default
+     * @return this response
+     * @throws IllegalStateException if the response is not over a publisher
+     */
+    public StreamingResponse<T> idleTimeout(Duration idleTimeout) {
+        if (!(source instanceof PublisherIterator<?> publisher)) {
+            throw new IllegalStateException("An idle timeout only applies to a publisher source");
+        }
+        publisher.setIdleTimeout(idleTimeout);
+        return this;
+    }
+
+
+    /**
+     * Writes the response as newline-delimited JSON.
+     *
+     * @return this response
+     */
+    public StreamingResponse<T> ndjson() {
+        return format(Format.NDJSON);
+    }
+
+
+    /**
+     * Sets the format of the response, as the converter does when the client only accepts the other one.
+     *
+     * @param format the format
+     * @return this response
+     */
+    public StreamingResponse<T> format(Format format) {
+        this.format = Objects.requireNonNull(format, "format");
+        return this;
+    }
+
+
+    /**
+     * Returns the status explicitly set on this response.
+     *
+     * @return the status, or {@code null} if the default {@code SUCCESS} status applies
+     */
+    public StatusDefinition getStatus() {
+        return status;
+    }
+
+
+    /**
+     * Returns the format of this response.
+     *
+     * @return the format
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+
+    /**
+     * Returns the media type of this response's format.
+     *
+     * @return {@code application/json} or {@code application/x-ndjson}
+     */
+    public MediaType getMediaType() {
+        return format == Format.NDJSON ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+
+    /**
+     * Writes the response, then closes the source.
+     *
+     * @param envelopeWriter the writer of the envelope metadata and elements
+     * @param generator      the target generator, as created by {@link ResponseEnvelopeWriter#createGenerator}
+     * @throws IOException if writing fails
+     */
+    public void writeTo(ResponseEnvelopeWriter envelopeWriter, JsonGenerator generator) throws IOException {
+        StatusDefinition effective = Objects.nonNull(status) ? status : ApplicationStatus.SUCCESS;
+        Response<?> envelope = Response.envelope(effective, null,
+                Objects.nonNull(message) ? message : effective.getMessage(),
+                Objects.nonNull(description) ? description : effective.getDescription());
+        try {
+            if (!envelopeWriter.isCompatible()) {
+                writeMapped(envelopeWriter, envelope, generator);
+                return;
+            }
+            boolean separated = envelopeWriter.writeHead(envelope, generator);
+            if (format == Format.NDJSON) {
+                envelopeWriter.writeTail(generator);
+                while (hasNext(generator)) {
+                    generator.writeRaw('\n');
+                    envelopeWriter.writeElement(source.next(), generator);
+                }
+                generator.writeRaw('\n');
+            } else {
+                envelopeWriter.writeDataName(generator, separated);
+                generator.writeRaw('[');
+                boolean first = true;
+                while (hasNext(generator)) {
+                    if (!first) generator.writeRaw(',');
+                    first = false;
+                    envelopeWriter.writeElement(source.next(), generator);
+                }
+                generator.writeRaw(']');
+                envelopeWriter.writeTail(generator);
+            }
+        } finally {
+            close();
+        }
+    }
+
+
+    private void writeMapped(ResponseEnvelopeWriter envelopeWriter, Response<?> envelope, JsonGenerator generator) throws IOException {
+        if (format == Format.NDJSON) {
+            envelopeWriter.writeMappedHead(envelope, generator, false);
+            envelopeWriter.writeMappedTail(generator);
+            while (hasNext(generator)) {
+                generator.writeRaw('\n');
+                envelopeWriter.writeElement(source.next(), generator);
+            }
+            generator.writeRaw('\n');
+        } else {
+            envelopeWriter.writeMappedHead(envelope, generator, true);
+            envelopeWriter.writeMappedDataName(generator);
+            generator.writeStartArray();
+            while (hasNext(generator)) envelopeWriter.writeElement(source.next(), generator);
+            generator.writeEndArray();
+            envelopeWriter.writeMappedTail(generator);
+        }
+    }
+
+
+    private boolean hasNext(JsonGenerator generator) throws IOException {
+        if (source instanceof PublisherIterator<?> publisher && !publisher.isReady()) generator.flush();
+        return source.hasNext();
+    }
+
+
+    private void close() throws IOException {
+        if (Objects.isNull(closeable)) return;
+        try {
+            closeable.close();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to close the response source", e);
+        }
+    }
+
+
+    /**
+     * The format of a streaming response.
+     */
+    public enum Format {
+
+        /** The {@link Response} envelope with {@code data} as a JSON array, as {@code application/json}. */
+        ENVELOPE,
+
+        /** The envelope without {@code data} on the first line and one element per line, as {@code application/x-ndjson}. */
+        NDJSON
+    }
+}
@@ -3,7 +3,9 @@ package com.nob.app.core.model;
 import lombok.Data;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
@@ -66,4 +68,83 @@ public class TokenPayload {
      * The raw JWT token value.
      */
     private String tokenValue;
+
+
+    /**
+     * Returns a read-only copy of the given payload, whose setters throw {@link UnsupportedOperationException}
+     * and whose collections cannot be modified. Used for views shared by every caller of a request.
+     *
+     * @param source the payload to copy
+     * @return the read-only copy
+     */
+    public static TokenPayload readOnly(TokenPayload source) {
+        return new ReadOnly(source);
+    }
+
+
+    private static final class ReadOnly extends TokenPayload {
+
+        private ReadOnly(TokenPayload source) {
+            super.setJwtId(source.getJwtId());
+            super.setIssuer(source.getIssuer());
+            super.setSubject(source.getSubject());
+            super.setAudience(source.getAudience());
+            super.setExpireAt(source.getExpireAt());
+            super.setIssuedAt(source.getIssuedAt());
+            super.setNotBefore(source.getNotBefore());
+            super.setClaims(Objects.nonNull(source.getClaims()) ? Collections.unmodifiableMap(source.getClaims()) : null);
+            super.setTokenType(source.getTokenType());
+            super.setTokenValue(source.getTokenValue());
+        }
+
+        @Override
+        public void setJwtId(String jwtId) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setIssuer(String issuer) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setSubject(String subject) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setAudience(String audience) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setExpireAt(Instant expireAt) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setIssuedAt(Instant issuedAt) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setNotBefore(Instant notBefore) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setClaims(Map<String, Object> claims) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setTokenType(String tokenType) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+
+        @Override
+        public void setTokenValue(String tokenValue) {
+            throw new UnsupportedOperationException("TokenPayload is read-only");
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.nob.app.core.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resource server {@link JwtDecoder} verifying signatures with the keys held by the {@link JwkSetManager}.
+ *
+ * <p>Declared as a bean, it replaces the decoder Spring Boot would auto-configure. Tokens are validated
+ * like Boot does: timestamps always, and the issuer and audiences when
+ * {@code spring.security.oauth2.resourceserver.jwt.issuer-uri} and {@code audiences} are set.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.jwks", name = "enabled", havingValue = "true")
+public class JwkSetJwtDecoder implements JwtDecoder {
+
+    private final NimbusJwtDecoder delegate;
+
+
+    /**
+     * Creates the decoder.
+     *
+     * @param manager                  the JWK set manager
+     * @param properties               the JWK set properties
+     * @param resourceServerProperties the resource server properties, used for algorithms and validation
+     */
+    public JwkSetJwtDecoder(JwkSetManager manager, JwkSetProperties properties, ObjectProvider<OAuth2ResourceServerProperties> resourceServerProperties) {
+        OAuth2ResourceServerProperties.Jwt jwt = Objects.requireNonNullElseGet(
+                resourceServerProperties.getIfAvailable(),
+                OAuth2ResourceServerProperties::new).getJwt();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms(properties, jwt), manager));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {});
+        this.delegate = new NimbusJwtDecoder(processor);
+        this.delegate.setJwtValidator(validator(jwt));
+    }
+
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return delegate.decode(token);
+    }
+
+
+    private static Set<JWSAlgorithm> algorithms(JwkSetProperties properties, OAuth2ResourceServerProperties.Jwt jwt) {
+        List<String> names = !CollectionUtils.isEmpty(properties.getJwsAlgorithms()) ? properties.getJwsAlgorithms() : jwt.getJwsAlgorithms();
+        Set<JWSAlgorithm> algorithms = new HashSet<>();
+        for (String name : names) algorithms.add(JWSAlgorithm.parse(name));
+        if (algorithms.isEmpty()) algorithms.add(JWSAlgorithm.RS256);
+        return algorithms;
+    }
+
+
+    private static OAuth2TokenValidator<Jwt> validator(OAuth2ResourceServerProperties.Jwt jwt) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(StringUtils.hasText(jwt.getIssuerUri()) ?
+                JwtValidators.createDefaultWithIssuer(jwt.getIssuerUri()) :
+                JwtValidators.createDefault());
+        List<String> audiences = jwt.getAudiences();
+        if (!CollectionUtils.isEmpty(audiences)) {
+            validators.add(new JwtClaimValidator<Collection<String>>(JwtClaimNames.AUD,
+                    aud -> Objects.nonNull(aud) && !Collections.disjoint(aud, audiences)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
@@ -0,0 +1,259 @@
+package com.nob.app.core.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the JWK set used to verify token signatures in memory and up to date.
+ *
+ * <p>The set is loaded eagerly at startup and refreshed by a background thread before it expires:
+ * after {@code refresh-interval}, or earlier when the server sends a shorter
+ * {@code Cache-Control: max-age}. Verification reads the current immutable snapshot, so requests never
+ * wait for the network. When a token is signed with a key that is not in the snapshot, which happens
+ * right after a key rotation, the set is refreshed once on the request thread, at most once per
+ * {@code min-refresh-interval}. A failed refresh keeps the previous snapshot and is retried after
+ * {@code min-refresh-interval}.</p>
+ *
+ * <p>The location is an {@code http(s)} URL or a {@code file:} or {@code classpath:} resource, which
+ * allows running against a local JWK set without an authorization server.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.jwks", name = "enabled", havingValue = "true")
+public class JwkSetManager implements JWKSource<SecurityContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkSetManager.class);
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final JwkSetProperties properties;
+
+    private final String location;
+
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private final Object refreshLock = new Object();
+
+    private final AtomicLong lastAttempt = new AtomicLong();
+
+    private volatile JWKSet snapshot = new JWKSet();
+
+    private volatile long loadedAt;
+
+    private HttpClient httpClient;
+
+    private ScheduledExecutorService scheduler;
+
+
+    /**
+     * Creates the manager.
+     *
+     * @param properties               the JWK set properties
+     * @param resourceServerProperties the resource server properties, used for the default location
+     */
+    public JwkSetManager(JwkSetProperties properties, ObjectProvider<OAuth2ResourceServerProperties> resourceServerProperties) {
+        this.properties = properties;
+        String configured = properties.getLocation();
+        if (!StringUtils.hasText(configured)) {
+            OAuth2ResourceServerProperties resourceServer = resourceServerProperties.getIfAvailable();
+            configured = Objects.nonNull(resourceServer) ? resourceServer.getJwt().getJwkSetUri() : null;
+        }
+        if (!StringUtils.hasText(configured)) {
+            throw new IllegalStateException("nob.core.jwks.location or spring.security.oauth2.resourceserver.jwt.jwk-set-uri must be set");
+        }
+        this.location = configured;
+    }
+
+
+    /**
+     * Loads the JWK set and starts the background refresh.
+     *
+     * @throws IllegalStateException if the initial load fails and {@code fail-fast} is set
+     */
+    @PostConstruct
+    public void start() {
+        if (isHttp()) {
+            httpClient = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Duration next = refresh();
+        if (Objects.isNull(next) && properties.isFailFast()) {
+            scheduler.shutdownNow();
+            throw new IllegalStateException("Failed to load the JWK set from " + location);
+        }
+        schedule(Objects.nonNull(next) ? next : properties.getMinRefreshInterval());
+    }
+
+
+    /**
+     * Stops the background refresh.
+     */
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(scheduler)) scheduler.shutdownNow();
+    }
+
+
+    /**
+     * Selects keys from the current snapshot, refreshing it first if no key matches and the last
+     * refresh attempt is older than {@code min-refresh-interval}.
+     *
+     * @param selector the key selector
+     * @param context  the security context, unused
+     * @return the matching keys, possibly empty
+     */
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        JWKSet current = snapshot;
+        List<JWK> keys = selector.select(current);
+        if (!keys.isEmpty() || !isRefreshDue()) return keys;
+        synchronized (refreshLock) {
+            if (snapshot == current && isRefreshDue()) refresh();
+        }
+        return selector.select(snapshot);
+    }
+
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return the immutable JWK set
+     */
+    public JWKSet getSnapshot() {
+        return snapshot;
+    }
+
+
+    /**
+     * Returns when the current snapshot was loaded.
+     *
+     * @return the epoch milliseconds of the last successful load, or 0 if none succeeded
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+
+    /**
+     * Reloads the JWK set now. On failure the current snapshot is kept.
+     *
+     * @return the delay until the next refresh, or {@code null} if the load failed
+     */
+    public Duration refresh() {
+        lastAttempt.set(System.nanoTime());
+        try {
+            Loaded loaded = load();
+            snapshot = JWKSet.parse(loaded.content());
+            loadedAt = System.currentTimeMillis();
+            log.debug("Loaded {} JWK(s) from {}", snapshot.getKeys().size(), location);
+            return nextRefresh(loaded.maxAge());
+        } catch (IOException | ParseException e) {
+            log.warn("Failed to load the JWK set from {}: {}", location, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+
+    private void scheduleNext() {
+        Duration next = refresh();
+        schedule(Objects.nonNull(next) ? next : properties.getMinRefreshInterval());
+    }
+
+
+    private void schedule(Duration delay) {
+        if (scheduler.isShutdown()) return;
+        scheduler.schedule(this::scheduleNext, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+
+    private boolean isRefreshDue() {
+        return System.nanoTime() - lastAttempt.get() >= properties.getMinRefreshInterval().toNanos();
+    }
+
+
+    private Duration nextRefresh(Duration maxAge) {
+        Duration next = properties.getRefreshInterval();
+        if (Objects.nonNull(maxAge)) {
+            Duration beforeExpiry = maxAge.multipliedBy(4).dividedBy(5);
+            if (beforeExpiry.compareTo(next) < 0) next = beforeExpiry;
+        }
+        Duration min = properties.getMinRefreshInterval();
+        return next.compareTo(min) < 0 ? min : next;
+    }
+
+
+    private Loaded load() throws IOException, InterruptedException {
+        if (isHttp()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(location))
+                    .timeout(properties.getReadTimeout())
+                    .header(HttpHeaders.ACCEPT, "application/jwk-set+json, application/json")
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) throw new IOException("HTTP " + response.statusCode());
+            return new Loaded(response.body(), response.headers().firstValue(HttpHeaders.CACHE_CONTROL).map(JwkSetManager::maxAge).orElse(null));
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return new Loaded(new String(in.readAllBytes(), StandardCharsets.UTF_8), null);
+        }
+    }
+
+
+    private boolean isHttp() {
+        return location.startsWith("http://") || location.startsWith("https://");
+    }
+
+
+    private static Duration maxAge(String cacheControl) {
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Duration.ofSeconds(Long.parseLong(matcher.group(1))) : null;
+    }
+
+
+    private record Loaded(String content, Duration maxAge) {}
+}
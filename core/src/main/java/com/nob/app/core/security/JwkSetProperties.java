@@ -0,0 +1,51 @@
+package com.nob.app.core.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the eagerly loaded, background refreshed JWK set, bound from {@code nob.core.jwks}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see JwkSetManager
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.jwks")
+public class JwkSetProperties {
+
+    /** Whether the {@link JwkSetManager} and its decoder replace the resource server's JWT decoder. */
+    private boolean enabled = false;
+
+    /**
+     * The JWK set location: an {@code http(s)} URL, or a {@code file:} or {@code classpath:} resource.
+     * Defaults to {@code spring.security.oauth2.resourceserver.jwt.jwk-set-uri}.
+     */
+    private String location;
+
+    /** The longest time between two refreshes; a shorter {@code Cache-Control: max-age} takes precedence. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /** The shortest time between two refreshes, also applied to retries and to refreshes triggered by unknown keys. */
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+
+    /** The connect timeout when fetching the JWK set over HTTP. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** The read timeout when fetching the JWK set over HTTP. */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** Whether startup fails when the initial load fails, instead of retrying in the background. */
+    private boolean failFast = false;
+
+    /** The accepted JWS algorithms. Defaults to {@code spring.security.oauth2.resourceserver.jwt.jws-algorithms}, or RS256. */
+    private List<String> jwsAlgorithms = new ArrayList<>();
+}
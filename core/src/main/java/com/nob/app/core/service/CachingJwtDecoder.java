@@ -0,0 +1,187 @@
+package com.nob.app.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link JwtDecoder} decorator caching the tokens successfully decoded and validated by its delegate.
+ *
+ * <p>Tokens are keyed by their SHA-256 digest, so raw token values are not retained as keys. A cached
+ * token is returned until its {@code exp} claim, or until {@code max-ttl} has elapsed if that comes
+ * first; tokens that fail to decode are never cached, so failures always reach the delegate. Signature
+ * verification and validation therefore run once per token rather than once per request.</p>
+ *
+ * <p>The cache holds at most {@code max-size} tokens. When it is full, expired tokens are removed
+ * first and, if that is not enough, an arbitrary tenth of the entries is evicted. Lookups are recorded
+ * in the {@value #REQUESTS} counter tagged {@code result=hit|miss}, evictions in {@value #EVICTIONS}
+ * and the current size in the {@value #SIZE} gauge, all tagged with the cache name.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /** The cache lookup counter name. */
+    public static final String REQUESTS = "nob.jwt.cache.requests";
+
+    /** The cache eviction counter name. */
+    public static final String EVICTIONS = "nob.jwt.cache.evictions";
+
+    /** The cache size gauge name. */
+    public static final String SIZE = "nob.jwt.cache.size";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(CachingJwtDecoder::sha256);
+
+    private final JwtDecoder delegate;
+
+    private final int maxSize;
+
+    private final long maxTtlMillis;
+
+    private final Map<TokenDigest, Entry> cache = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+
+    /**
+     * Creates a caching decoder.
+     *
+     * @param name     the cache name, used as the {@code cache} tag of the metrics
+     * @param delegate the decoder verifying and validating tokens
+     * @param maxSize  the maximum number of cached tokens
+     * @param maxTtl   the longest time a token is cached
+     * @param registry the registry of the cache metrics
+     */
+    public CachingJwtDecoder(String name, JwtDecoder delegate, int maxSize, Duration maxTtl, MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.hits = Counter.builder(REQUESTS).tags("cache", name, "result", "hit").description("Decoded JWT cache lookups").register(registry);
+        this.misses = Counter.builder(REQUESTS).tags("cache", name, "result", "miss").description("Decoded JWT cache lookups").register(registry);
+        this.evictions = Counter.builder(EVICTIONS).tag("cache", name).description("Tokens evicted from the decoded JWT cache").register(registry);
+        Gauge.builder(SIZE, cache, Map::size).tag("cache", name).description("Tokens in the decoded JWT cache").register(registry);
+    }
+
+
+    /**
+     * Returns the cached token if it is still valid, otherwise decodes it with the delegate and caches it.
+     *
+     * @param token the JWT value
+     * @return the validated {@link Jwt}
+     * @throws JwtException if the delegate fails to decode or validate the token
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (Objects.isNull(token)) return delegate.decode(null);
+        TokenDigest key = TokenDigest.of(token);
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(key);
+        if (Objects.nonNull(entry)) {
+            if (entry.expiresAt > now) {
+                hits.increment();
+                return entry.jwt;
+            }
+            cache.remove(key, entry);
+        }
+        misses.increment();
+        Jwt jwt = delegate.decode(token);
+        long expiresAt = now + maxTtlMillis;
+        Instant exp = jwt.getExpiresAt();
+        if (Objects.nonNull(exp)) expiresAt = Math.min(expiresAt, exp.toEpochMilli());
+        if (expiresAt > now && maxSize > 0) {
+            if (cache.size() >= maxSize) evict(now);
+            cache.put(key, new Entry(jwt, expiresAt));
+        }
+        return jwt;
+    }
+
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return cache.size();
+    }
+
+
+    /**
+     * Removes all cached tokens.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+
+    private void evict(long now) {
+        int removed = 0;
+        for (Iterator<Entry> iterator = cache.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().expiresAt <= now) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        int target = maxSize - Math.max(1, maxSize / 10);
+        for (Iterator<TokenDigest> iterator = cache.keySet().iterator(); iterator.hasNext() && cache.size() > target; ) {
+            iterator.next();
+            iterator.remove();
+            removed++;
+        }
+        evictions.increment(removed);
+    }
+
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+
+    private record Entry(Jwt jwt, long expiresAt) {}
+
+
+    /**
+     * The SHA-256 digest of a token, held as four longs.
+     */
+    private record TokenDigest(long d0, long d1, long d2, long d3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = SHA_256.get();
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return new TokenDigest(toLong(hash, 0), toLong(hash, 8), toLong(hash, 16), toLong(hash, 24));
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) value = (value << 8) | (bytes[i] & 0xFF);
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(d0);
+        }
+    }
+}
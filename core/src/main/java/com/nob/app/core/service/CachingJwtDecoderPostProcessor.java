@@ -0,0 +1,74 @@
+package com.nob.app.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Wraps the resource server's {@link JwtDecoder} in a {@link CachingJwtDecoder} when
+ * {@code nob.core.jwt-cache.enabled} is {@code true}. The cache metrics are tagged with the decoder's
+ * bean name.
+ *
+ * <p>The resource server uses the single {@code JwtDecoder} bean of the context, so only that bean is
+ * wrapped; a context declaring several decoders is left untouched. The wrapped bean is only exposed as
+ * a {@code JwtDecoder}, and decoders validating more than the token itself are only consulted on a
+ * cache miss, hence the cache is opt-in.</p>
+ *
+ * <p>Dependencies are looked up lazily, when the decoder is created, so that this post-processor
+ * does not force them to be initialized early.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nob.core.jwt-cache", name = "enabled", havingValue = "true")
+public class CachingJwtDecoderPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private final ObjectProvider<JwtDecoderCacheProperties> properties;
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    private ListableBeanFactory beanFactory;
+
+
+    /**
+     * Creates the post-processor.
+     *
+     * @param properties the cache properties
+     * @param registry   the optional meter registry, the Micrometer global registry is used otherwise
+     */
+    public CachingJwtDecoderPostProcessor(ObjectProvider<JwtDecoderCacheProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+
+    @Override
+    public void setBeanFactory(@NonNull BeanFactory beanFactory) {
+        this.beanFactory = beanFactory instanceof ListableBeanFactory listable ? listable : null;
+    }
+
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!(bean instanceof JwtDecoder decoder) || bean instanceof CachingJwtDecoder) return bean;
+        if (Objects.isNull(beanFactory) || beanFactory.getBeanNamesForType(JwtDecoder.class, true, false).length != 1) return bean;
+        JwtDecoderCacheProperties cacheProperties = properties.getIfAvailable(JwtDecoderCacheProperties::new);
+        return new CachingJwtDecoder(
+                beanName,
+                decoder,
+                cacheProperties.getMaxSize(),
+                cacheProperties.getMaxTtl(),
+                registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,31 @@
+package com.nob.app.core.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the decoded JWT cache, bound from {@code nob.core.jwt-cache}.
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ * @see CachingJwtDecoder
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nob.core.jwt-cache")
+public class JwtDecoderCacheProperties {
+
+    /** Whether the resource server's {@code JwtDecoder} is wrapped in a {@link CachingJwtDecoder}. */
+    private boolean enabled;
+
+    /** The maximum number of cached tokens. */
+    private int maxSize = 10_000;
+
+    /** The longest time a token is cached, even if it expires later. */
+    private Duration maxTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,223 @@
+package com.nob.app.core.service;
+
+import com.nob.app.core.model.AuthenticatedUser;
+import com.nob.app.core.model.TokenPayload;
+import com.nob.utils.StringUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Memoized views of one {@link JwtAuthenticationToken}.
+ *
+ * <p>The {@link TokenPayload} and {@link AuthenticatedUser} views are built on first use and then
+ * returned as the same instances for the lifetime of the authentication. They are read-only: their
+ * setters throw and their claims cannot be modified, so no caller can change what the others see. Typed claim accessors convert a claim once and return the cached value afterwards; claims
+ * that already have the requested type are returned without conversion.</p>
+ *
+ * <p>Instances are obtained through {@link TokenService#getTokenContext()}, which keeps the context as
+ * an attribute of the current request and reuses it as long as the same token instance is current.</p>
+ *
+ * @author Truong Ngo
+ * @version 1.0
+ */
+public final class TokenContext {
+
+    private static final Object NULL = new Object();
+
+    private final JwtAuthenticationToken authentication;
+
+    private final Jwt jwt;
+
+    private final Map<Class<?>, Map<String, Object>> converted = new ConcurrentHashMap<>();
+
+    private volatile TokenPayload payload;
+
+    private volatile AuthenticatedUser user;
+
+
+    TokenContext(JwtAuthenticationToken authentication) {
+        this.authentication = authentication;
+        this.jwt = authentication.getToken();
+    }
+
+
+    /**
+     * Returns whether this context was built for the given authentication instance.
+     *
+     * @param authentication the authentication to compare
+     * @return {@code true} if it is the same instance
+     */
+    boolean isFor(Object authentication) {
+        return this.authentication == authentication;
+    }
+
+
+    /**
+     * Returns the authentication this context was built for.
+     *
+     * @return the JWT authentication
+     */
+    public JwtAuthenticationToken getAuthentication() {
+        return authentication;
+    }
+
+
+    /**
+     * Returns the JWT of the authentication.
+     *
+     * @return the JWT
+     */
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+
+    /**
+     * Returns the token payload view, built on first use.
+     *
+     * @return the shared, read-only {@link TokenPayload}
+     */
+    public TokenPayload getPayload() {
+        TokenPayload result = payload;
+        if (Objects.isNull(result)) payload = result = buildPayload();
+        return result;
+    }
+
+
+    /**
+     * Returns the authenticated user view, built on first use.
+     *
+     * @return the shared, read-only {@link AuthenticatedUser}
+     */
+    public AuthenticatedUser getUser() {
+        AuthenticatedUser result = user;
+        if (Objects.isNull(result)) user = result = buildUser();
+        return result;
+    }
+
+
+    /**
+     * Returns a claim as a string.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent
+     */
+    public String getClaimAsString(String claim) {
+        Object value = jwt.getClaims().get(claim);
+        if (Objects.isNull(value) || value instanceof String) return (String) value;
+        return convert(String.class, claim, Jwt::getClaimAsString);
+    }
+
+
+    /**
+     * Returns a claim as a list of strings, such as the {@code aud} claim.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent
+     */
+    public List<String> getClaimAsStringList(String claim) {
+        return convert(List.class, claim, Jwt::getClaimAsStringList);
+    }
+
+
+    /**
+     * Returns a claim as an instant, such as the {@code exp} claim.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent
+     */
+    public Instant getClaimAsInstant(String claim) {
+        Object value = jwt.getClaims().get(claim);
+        if (Objects.isNull(value) || value instanceof Instant) return (Instant) value;
+        return convert(Instant.class, claim, Jwt::getClaimAsInstant);
+    }
+
+
+    /**
+     * Returns a claim as a boolean.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent
+     */
+    public Boolean getClaimAsBoolean(String claim) {
+        Object value = jwt.getClaims().get(claim);
+        if (Objects.isNull(value) || value instanceof Boolean) return (Boolean) value;
+        return convert(Boolean.class, claim, Jwt::getClaimAsBoolean);
+    }
+
+
+    /**
+     * Returns a numeric claim as a long.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent
+     * @throws IllegalArgumentException if the claim is not a number
+     */
+    public Long getClaimAsLong(String claim) {
+        Object value = jwt.getClaims().get(claim);
+        if (Objects.isNull(value) || value instanceof Long) return (Long) value;
+        return convert(Long.class, claim, (token, name) -> {
+            Object raw = token.getClaims().get(name);
+            if (raw instanceof Number number) return number.longValue();
+            if (raw instanceof String string) return Long.valueOf(string);
+            throw new IllegalArgumentException("Claim " + name + " is not a number");
+        });
+    }
+
+
+    /**
+     * Returns the {@code preferred_username} claim.
+     *
+     * @return the username, or {@code null} if absent
+     */
+    public String getUsername() {
+        return getClaimAsString(TokenService.PREFERRED_USERNAME);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private <T> T convert(Class<?> type, String claim, BiFunction<Jwt, String, ?> converter) {
+        Map<String, Object> values = converted.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        Object value = values.get(claim);
+        if (Objects.isNull(value)) {
+            Object result = converter.apply(jwt, claim);
+            value = Objects.nonNull(result) ? result : NULL;
+            values.putIfAbsent(claim, value);
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+
+    private TokenPayload buildPayload() {
+        TokenPayload result = new TokenPayload();
+        result.setJwtId(jwt.getId());
+        result.setIssuer(Objects.nonNull(jwt.getIssuer()) ? jwt.getIssuer().toString() : null);
+        result.setSubject(jwt.getSubject());
+        result.setAudience(StringUtils.join(jwt.getAudience(), ",", Function.identity()));
+        result.setExpireAt(jwt.getExpiresAt());
+        result.setIssuedAt(jwt.getIssuedAt());
+        result.setNotBefore(jwt.getNotBefore());
+        result.setClaims(jwt.getClaims());
+        String tokenType = getClaimAsString("typ");
+        result.setTokenType(Objects.nonNull(tokenType) ? tokenType : TokenService.BEARER);
+        result.setTokenValue(jwt.getTokenValue());
+        return TokenPayload.readOnly(result);
+    }
+
+
+    private AuthenticatedUser buildUser() {
+        AuthenticatedUser result = new AuthenticatedUser();
+        result.setId(jwt.getSubject());
+        result.setUsername(getUsername());
+        result.setAttributes(jwt.getClaims());
+        return AuthenticatedUser.readOnly(result);
+    }
+}
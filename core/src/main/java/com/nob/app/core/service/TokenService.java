@@ -2,17 +2,21 @@ package com.nob.app.core.service;
 
 import com.nob.app.core.model.AuthenticatedUser;
 import com.nob.app.core.model.TokenPayload;
-import com.nob.utils.StringUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.function.Function;
+import java.util.Objects;
 
 /**
  * A class for extracting token-related information from the security context.
- * <p>This class provides methods to parse the JWT token and extract details about the authenticated user.</p>
+ * <p>This class provides methods to parse the JWT token and extract details about the authenticated user.
+ * The views are computed once per {@link JwtAuthenticationToken} and reused through a
+ * {@link TokenContext} kept on the current request, so repeated calls while handling a request
+ * allocate nothing and nothing outlives the request.</p>
  *
  * @author Truong Ngo
  * @version 1.0
@@ -29,6 +33,11 @@ public class TokenService {
      */
     public static final String BEARER = "Bearer";
 
+    /**
+     * The request attribute holding the context of the request's JWT authentication.
+     */
+    private static final String CONTEXT_ATTRIBUTE = TokenContext.class.getName();
+
 
     /**
      * Retrieves the JWT token from the security context.
@@ -38,50 +47,68 @@ public class TokenService {
      */
     public static Jwt getJwtToken() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) return null;
-        JwtAuthenticationToken token = (JwtAuthenticationToken) authentication;
-        return token.getToken();
+        return authentication instanceof JwtAuthenticationToken token ? token.getToken() : null;
+    }
+
+
+    /**
+     * Returns the memoized views of the current JWT authentication.
+     *
+     * <p>The context is reused for as long as the same authentication instance is current on the request.
+     * Outside a request, such as on a worker thread without propagated request attributes, a new context is
+     * returned on every call.</p>
+     *
+     * @return {@link TokenContext} of the current authentication, or {@code null} if it is not a JWT authentication.
+     */
+    public static TokenContext getTokenContext() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken token)) return null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (Objects.isNull(attributes)) return new TokenContext(token);
+        if (attributes.getAttribute(CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof TokenContext context
+                && context.isFor(token)) {
+            return context;
+        }
+        TokenContext context = new TokenContext(token);
+        attributes.setAttribute(CONTEXT_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+        return context;
     }
 
 
     /**
      * Parses the JWT token from the security context and extracts relevant details.
      *
+     * <p>The returned payload is shared by all callers for the same authentication and is read-only.</p>
+     *
      * @return {@link TokenPayload} containing token details, or {@code null} if no valid token is found.
      */
     public static TokenPayload getTokenPayload() {
-        Jwt jwt = getJwtToken();
-        if (jwt == null) return null;
-        TokenPayload payload = new TokenPayload();
-        payload.setJwtId(jwt.getId());
-        payload.setIssuer(jwt.getIssuer().toString());
-        payload.setSubject(jwt.getSubject());
-        payload.setAudience(StringUtils.join(jwt.getAudience(), ",", Function.identity()));
-        payload.setExpireAt(jwt.getExpiresAt());
-        payload.setIssuedAt(jwt.getIssuedAt());
-        payload.setNotBefore(jwt.getNotBefore());
-        payload.setClaims(jwt.getClaims());
-
-        payload.setTokenType(jwt.getClaimAsString("typ") == null ?
-                TokenService.BEARER :
-                jwt.getClaimAsString("typ"));
-        payload.setTokenValue(jwt.getTokenValue());
-        return payload;
+        TokenContext context = getTokenContext();
+        return Objects.nonNull(context) ? context.getPayload() : null;
     }
 
 
     /**
      * Retrieves the currently authenticated user from the security context.
      *
+     * <p>The returned user is shared by all callers for the same authentication and is read-only.</p>
+     *
      * @return {@link AuthenticatedUser} containing user details, or {@code null} if no valid user is found.
      */
     public static AuthenticatedUser getLoggedInUser() {
-        Jwt jwt = getJwtToken();
-        if (jwt == null) return null;
-        AuthenticatedUser user = new AuthenticatedUser();
-        user.setId(jwt.getSubject());
-        user.setUsername(jwt.getClaimAsString(PREFERRED_USERNAME));
-        user.setAttributes(jwt.getClaims());
-        return user;
+        TokenContext context = getTokenContext();
+        return Objects.nonNull(context) ? context.getUser() : null;
+    }
+
+
+    /**
+     * Retrieves a claim of the current JWT as a string.
+     *
+     * @param claim the claim name
+     * @return the claim value, or {@code null} if absent or if no valid token is found.
+     */
+    public static String getClaimAsString(String claim) {
+        TokenContext context = getTokenContext();
+        return Objects.nonNull(context) ? context.getClaimAsString(claim) : null;
     }
 }
@@ -0,0 +1,87 @@
+package com.nob.app.core.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BodyLogSamplerTest {
+
+    @Test
+    void logsEverythingWhenDisabled() {
+        BodyLogSamplingProperties properties = new BodyLogSamplingProperties();
+        properties.setRate(0.0);
+        BodyLogSampler sampler = new BodyLogSampler(properties);
+
+        assertThat(sampler.shouldLogBodies("trace", "/api/items", 200, false)).isTrue();
+    }
+
+
+    @Test
+    void samplingIsDeterministicPerTraceAndRespectsBounds() {
+        String traceId = UUID.randomUUID().toString();
+
+        assertThat(BodyLogSampler.isSampled(traceId, 1.0)).isTrue();
+        assertThat(BodyLogSampler.isSampled(traceId, 0.0)).isFalse();
+        assertThat(BodyLogSampler.isSampled(null, 0.5)).isFalse();
+        assertThat(BodyLogSampler.isSampled(traceId, 0.5)).isEqualTo(BodyLogSampler.isSampled(traceId, 0.5));
+    }
+
+
+    @Test
+    void sampledFractionApproachesRate() {
+        long sampled = IntStream.range(0, 20_000)
+                .filter(i -> BodyLogSampler.isSampled(UUID.randomUUID().toString(), 0.25))
+                .count();
+
+        assertThat(sampled / 20_000.0).isCloseTo(0.25, within(0.03));
+    }
+
+
+    @Test
+    void keepsFailuresWhenErrorsAlways() {
+        BodyLogSamplingProperties properties = new BodyLogSamplingProperties();
+        properties.setEnabled(true);
+        properties.setRate(0.0);
+        BodyLogSampler sampler = new BodyLogSampler(properties);
+
+        assertThat(sampler.shouldLogBodies("trace", null, 200, false)).isFalse();
+        assertThat(sampler.shouldLogBodies("trace", null, 503, false)).isTrue();
+        assertThat(sampler.shouldLogBodies("trace", null, 200, true)).isTrue();
+
+        properties.setErrorsAlways(false);
+        assertThat(sampler.shouldLogBodies("trace", null, 503, false)).isFalse();
+    }
+
+
+    @Test
+    void routeRatesOverrideDefaultRate() {
+        BodyLogSamplingProperties properties = new BodyLogSamplingProperties();
+        properties.setEnabled(true);
+        properties.setRate(1.0);
+        properties.getRoutes().put("/api/health/**", 0.0);
+        BodyLogSampler sampler = new BodyLogSampler(properties);
+
+        assertThat(sampler.shouldLogBodies("trace", "/api/health/live", 200, false)).isFalse();
+        assertThat(sampler.shouldLogBodies("trace", "/api/items", 200, false)).isTrue();
+    }
+
+
+    @Test
+    void capsKeptExchangesAtBurst() {
+        BodyLogSamplingProperties properties = new BodyLogSamplingProperties();
+        properties.setEnabled(true);
+        properties.setMaxPerSecond(1);
+        properties.setBurst(10);
+        BodyLogSampler sampler = new BodyLogSampler(properties);
+
+        long kept = IntStream.range(0, 50)
+                .filter(i -> sampler.shouldLogBodies("trace-" + i, null, 200, false))
+                .count();
+
+        assertThat(kept).isEqualTo(10);
+    }
+}
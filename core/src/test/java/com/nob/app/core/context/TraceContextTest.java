@@ -0,0 +1,96 @@
+package com.nob.app.core.context;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+
+    @Test
+    void parsesValidTraceparent() {
+        TraceContext context = TraceContext.parse("00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+
+        assertThat(context).isNotNull();
+        assertThat(context.getTraceId()).isEqualTo(TRACE_ID);
+        assertThat(context.getParentId()).isEqualTo(PARENT_ID);
+        assertThat(context.getFlags()).isEqualTo("01");
+    }
+
+
+    @Test
+    void ignoresSurroundingWhitespace() {
+        assertThat(TraceContext.parse("  00-" + TRACE_ID + "-" + PARENT_ID + "-00 ")).isNotNull();
+    }
+
+
+    @Test
+    void acceptsAdditionalFieldsOfFutureVersions() {
+        TraceContext context = TraceContext.parse("01-" + TRACE_ID + "-" + PARENT_ID + "-01-extra");
+
+        assertThat(context).isNotNull();
+        assertThat(context.getTraceId()).isEqualTo(TRACE_ID);
+    }
+
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "",
+            "00-" + TRACE_ID + "-" + PARENT_ID,
+            "00-" + TRACE_ID + "-" + PARENT_ID + "-01-extra",
+            "ff-" + TRACE_ID + "-" + PARENT_ID + "-01",
+            "01-" + TRACE_ID + "-" + PARENT_ID + "-01extra",
+            "00-" + "4BF92F3577B34DA6A3CE929D0E0E4736" + "-" + PARENT_ID + "-01",
+            "00-00000000000000000000000000000000-" + PARENT_ID + "-01",
+            "00-" + TRACE_ID + "-0000000000000000-01",
+            "00-" + TRACE_ID + "-" + PARENT_ID + "-0g",
+            "00_" + TRACE_ID + "-" + PARENT_ID + "-01",
+            "zz-" + TRACE_ID + "-" + PARENT_ID + "-01"
+    })
+    void rejectsInvalidTraceparent(String traceparent) {
+        assertThat(TraceContext.parse(traceparent)).isNull();
+    }
+
+
+    @Test
+    void formatRoundTripsThroughParse() {
+        String value = TraceContext.format(TRACE_ID, PARENT_ID, TraceContext.SAMPLED);
+
+        assertThat(value).isEqualTo("00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+        assertThat(TraceContext.parse(value).getTraceId()).isEqualTo(TRACE_ID);
+    }
+
+
+    @Test
+    void newSpanIdIsValidParentId() {
+        String spanId = TraceContext.newSpanId();
+
+        assertThat(spanId).hasSize(16).matches("[0-9a-f]{16}").isNotEqualTo("0000000000000000");
+    }
+
+
+    @Test
+    void mapsSupportedIdFormatsOntoTraceIds() {
+        assertThat(TraceContext.toTraceId(null)).isNull();
+        assertThat(TraceContext.toTraceId(TRACE_ID)).isEqualTo(TRACE_ID);
+        assertThat(TraceContext.toTraceId("4BF92F35-77B3-4DA6-A3CE-929D0E0E4736")).isEqualTo(TRACE_ID);
+        assertThat(TraceContext.toTraceId("01ARZ3NDEKTSV4RRFFQ69G5FAV")).isEqualTo("01563e3ab5d3d6764c61efb99302bd5b");
+    }
+
+
+    @Test
+    void hashesOtherIdsDeterministically() {
+        String mapped = TraceContext.toTraceId("order-42");
+
+        assertThat(mapped).matches("[0-9a-f]{32}").isEqualTo(TraceContext.toTraceId("order-42"));
+        assertThat(mapped).isNotEqualTo(TraceContext.toTraceId("order-43"));
+    }
+}
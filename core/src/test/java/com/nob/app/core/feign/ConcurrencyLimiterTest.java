@@ -0,0 +1,132 @@
+package com.nob.app.core.feign;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void fixedLimitRejectsWhenFull() {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setAdaptive(false);
+        policy.setMaxConcurrentCalls(2);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+
+    @Test
+    void acquireWaitsForReleasedSlot() throws Exception {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setAdaptive(false);
+        policy.setMaxConcurrentCalls(1);
+        policy.setMaxWait(Duration.ofSeconds(5));
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+        assertThat(limiter.acquire()).isTrue();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        Thread.sleep(50);
+        limiter.release(false);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+
+    @Test
+    void acquireGivesUpAfterMaxWait() throws Exception {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setAdaptive(false);
+        policy.setMaxConcurrentCalls(1);
+        policy.setMaxWait(Duration.ofMillis(20));
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+
+        assertThat(limiter.acquire()).isTrue();
+        assertThat(limiter.acquire()).isFalse();
+    }
+
+
+    @Test
+    void adaptiveLimitBacksOffOnOverloadAndGrowsUnderLoad() {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setInitialLimit(10);
+        policy.setMinLimit(2);
+        policy.setMaxConcurrentCalls(12);
+        policy.setBackoffRatio(0.5);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+
+        limiter.tryAcquire();
+        limiter.release(true);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.tryAcquire()) {
+                // fill every slot, so that each release happens at full use
+            }
+            limiter.release(false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+
+    @Test
+    void hedgesStayWithinRatio() {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setAdaptive(false);
+        policy.setMaxHedgeRatio(0.1);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+
+        int hedged = 0;
+        for (int i = 0; i < 100; i++) {
+            limiter.countRequest();
+            if (limiter.tryHedge()) {
+                hedged++;
+                limiter.release(false);
+            }
+        }
+
+        assertThat(hedged).isEqualTo(10);
+    }
+
+
+    @Test
+    void hedgeWithoutFreeSlotDoesNotSpendBudget() {
+        FeignResilienceProperties.Policy policy = new FeignResilienceProperties.Policy();
+        policy.setAdaptive(false);
+        policy.setMaxConcurrentCalls(1);
+        policy.setMaxHedgeRatio(0.5);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy);
+        limiter.countRequest();
+        limiter.countRequest();
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        assertThat(limiter.tryHedge()).isFalse();
+        limiter.release(false);
+
+        assertThat(limiter.tryHedge()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+}
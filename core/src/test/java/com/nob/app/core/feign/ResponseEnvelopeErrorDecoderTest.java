@@ -0,0 +1,104 @@
+package com.nob.app.core.feign;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nob.app.core.exception.ApplicationException;
+import com.nob.app.core.exception.ConflictException;
+import com.nob.app.core.exception.ResourceNotFoundException;
+import com.nob.app.core.model.RawJson;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseEnvelopeErrorDecoderTest {
+
+    private final ResponseEnvelopeErrorDecoder decoder = new ResponseEnvelopeErrorDecoder(new ObjectMapper());
+
+
+    @ParameterizedTest
+    @ValueSource(strings = {"42", "-1.5e3", "true", "\"a \\\"quoted\\\" ü \\u00e9\"", "[1, [2, 3], {}]", "{\"ids\": [1, 2], \"x\": {\"y\": null}}"})
+    void slicesDataVerbatim(String data) {
+        ApplicationException exception = decode(404, "{\"code\": \"RESOURCE_NOT_FOUND\", \"data\": " + data + ", \"traceId\": null}");
+
+        assertThat(exception).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(exception.getDetail()).isInstanceOf(RawJson.class).hasToString(data);
+    }
+
+
+    @Test
+    void slicesByByteOffsetAfterMultiByteCharacters() {
+        ApplicationException exception = decode(404,
+                "{\"message\": \"Không tìm thấy € 😀\", \"code\": \"RESOURCE_NOT_FOUND\", \"data\": {\"name\": \"Đà Nẵng\"}}");
+
+        RawJson detail = (RawJson) exception.getDetail();
+        assertThat(exception.getMessage()).isEqualTo("Không tìm thấy € 😀");
+        assertThat(detail).hasToString("{\"name\": \"Đà Nẵng\"}");
+        assertThat(detail.as(Map.class)).containsEntry("name", "Đà Nẵng");
+    }
+
+
+    @Test
+    void parsesSlicedValuesOnDemand() {
+        ApplicationException exception = decode(404, "{\"code\": \"RESOURCE_NOT_FOUND\", \"data\": \"a \\\"quoted\\\" value\"}");
+        ApplicationException list = decode(404, "{\"data\": [1, 2, 3], \"code\": \"RESOURCE_NOT_FOUND\"}");
+
+        assertThat(((RawJson) exception.getDetail()).as(String.class)).isEqualTo("a \"quoted\" value");
+        assertThat(((RawJson) list.getDetail()).as(List.class)).containsExactly(1, 2, 3);
+    }
+
+
+    @Test
+    void decodesNestedBody() {
+        ApplicationException exception = decode(409,
+                "{\"code\": \"EXTERNAL_SERVER_ERROR\", \"body\": {\"code\": \"CONFLICT_ERROR\", \"description\": \"Taken\", \"data\": {\"k\": [\"v\"]}}}");
+
+        assertThat(exception).isInstanceOf(ConflictException.class);
+        assertThat(exception.getDescription()).isEqualTo("Taken");
+        assertThat(exception.getDetail()).hasToString("{\"k\": [\"v\"]}");
+    }
+
+
+    @Test
+    void keepsNullDataAsNoDetail() {
+        ApplicationException exception = decode(404, "{\"code\": \"RESOURCE_NOT_FOUND\", \"data\": null}");
+
+        assertThat(exception).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(exception.getDetail()).isNull();
+    }
+
+
+    @ParameterizedTest
+    @ValueSource(strings = {"<html>Bad gateway</html>", "{\"code\": \"UNKNOWN\"}", "[]"})
+    void fallsBackForOtherBodies(String body) {
+        Exception exception = decoder.decode("Client#call()", response(502, body));
+
+        assertThat(exception).isInstanceOf(FeignException.class);
+        assertThat(((FeignException) exception).contentUTF8()).isEqualTo(body);
+    }
+
+
+    private ApplicationException decode(int status, String body) {
+        Exception exception = decoder.decode("Client#call()", response(status, body));
+        assertThat(exception).isInstanceOf(ApplicationException.class);
+        return (ApplicationException) exception;
+    }
+
+
+    private static Response response(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://localhost/test", Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.nob.app.core.model;
+
+import com.nob.app.core.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final CursorCodec codec = new CursorCodec(SECRET);
+
+
+    @Test
+    void roundTripsEveryKeyType() {
+        UUID id = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2024-05-01T10:15:30.123456789Z");
+        Cursor cursor = Cursor.before(createdAt, id, -42L, 7, "naïve €", true, false, null);
+
+        Cursor decoded = codec.decode(codec.encode(cursor));
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getDirection()).isEqualTo(Cursor.Direction.BEFORE);
+        assertThat(decoded.getInstant(0)).isEqualTo(createdAt);
+        assertThat(decoded.getUuid(1)).isEqualTo(id);
+        assertThat(decoded.getLong(3)).isEqualTo(7L);
+    }
+
+
+    @Test
+    void encodesCompactUrlSafeTokens() {
+        String token = codec.encode(Cursor.after(Instant.ofEpochSecond(1_714_558_530L), 123_456L));
+
+        assertThat(token).matches("[A-Za-z0-9_-]+").hasSizeLessThan(40);
+    }
+
+
+    @Test
+    void rejectsAlteredCursor() {
+        String token = codec.encode(Cursor.after(1L, "a"));
+        char[] chars = token.toCharArray();
+        chars[2] = chars[2] == 'A' ? 'B' : 'A';
+
+        assertThatThrownBy(() -> codec.decode(new String(chars))).isInstanceOf(InvalidRequestException.class);
+    }
+
+
+    @Test
+    void rejectsCursorSignedWithAnotherSecret() {
+        CursorCodec other = new CursorCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> codec.decode(other.encode(Cursor.after(1L))))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"not base64!", "AQ", "AQEC"})
+    void rejectsMalformedCursor(String token) {
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(InvalidRequestException.class);
+    }
+
+
+    @Test
+    void acceptsCursorOnlyInItsScope() {
+        String token = codec.encode(Cursor.after(1L), "OrderController#list");
+
+        assertThat(codec.decode(token, "OrderController#list").getLong(0)).isEqualTo(1L);
+        assertThatThrownBy(() -> codec.decode(token, "UserController#list")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(InvalidRequestException.class);
+    }
+
+
+    @Test
+    void rejectsExpiredCursor() {
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        CursorCodec issuing = new CursorCodec(SECRET, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+        String token = issuing.encode(Cursor.after(1L));
+        CursorCodec later = new CursorCodec(SECRET, Duration.ofMinutes(5), Clock.fixed(now.plusSeconds(301), ZoneOffset.UTC));
+
+        assertThat(issuing.decode(token).getLong(0)).isEqualTo(1L);
+        assertThatThrownBy(() -> later.decode(token))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasFieldOrPropertyWithValue("description", "The pagination cursor has expired");
+    }
+
+
+    @Test
+    void rejectsKeysOfAnotherType() {
+        Cursor cursor = codec.decode(codec.encode(Cursor.after("a", 1L)));
+
+        assertThatThrownBy(() -> cursor.getLong(0)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> cursor.getUuid(2)).isInstanceOf(InvalidRequestException.class);
+    }
+
+
+    @Test
+    void rejectsShortSecret() {
+        assertThatThrownBy(() -> new CursorCodec(new byte[16])).isInstanceOf(IllegalArgumentException.class);
+    }
+}